@@ -1,5 +1,11 @@
 import org.gradle.api.tasks.testing.logging.TestExceptionFormat
 import org.gradle.api.tasks.testing.logging.TestLogEvent
+import org.springframework.boot.gradle.tasks.aot.ProcessAot
+import java.io.IOException
+import java.net.HttpURLConnection
+import java.net.URI
+import java.util.zip.Deflater
+import java.util.zip.GZIPOutputStream
 
 plugins {
     application
@@ -10,6 +16,8 @@ plugins {
     id("io.freefair.lombok") version "8.6"
     id("com.github.ben-manes.versions") version "0.50.0"
     id("io.sentry.jvm.gradle") version "4.10.0"
+    id("org.graalvm.buildtools.native") version "0.10.2" apply false
+    id("org.hibernate.orm") version "6.5.2.Final"
 }
 
 group = "hexlet.code"
@@ -43,11 +51,37 @@ tasks.sentryBundleSourcesJava {
     enabled = System.getenv("SENTRY_AUTH_TOKEN") != null
 }
 
+// In-line dirty tracking and lazy basic attributes (Task.description). -PskipEnhancement builds plain entities,
+// e.g. for the plain side of EntityEnhancementBenchmarkTest (make benchmark-plain).
+val enhanceEntities = !project.hasProperty("skipEnhancement")
+
+hibernate {
+    enhancement {
+        enableDirtyTracking.set(enhanceEntities)
+        enableLazyInitialization.set(enhanceEntities)
+    }
+}
+
+// -PfastStart adds Spring AOT processing to the JVM jar; the Boot plugin only registers processAot next to the
+// GraalVM plugin, no native image is built. Conditions and profiles are frozen at build time, so AOT runs with
+// the profiles the jar will be started with.
+val fastStart = project.hasProperty("fastStart")
+val fastStartProfiles = (findProperty("fastStartProfiles") ?: "production").toString()
+
+if (fastStart) {
+    apply(plugin = "org.graalvm.buildtools.native")
+
+    tasks.withType<ProcessAot>().configureEach {
+        args("--spring.profiles.active=$fastStartProfiles")
+    }
+}
+
 
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.flywaydb:flyway-core")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
@@ -66,6 +100,7 @@ dependencies {
 
     runtimeOnly("com.h2database:h2")
     runtimeOnly("org.postgresql:postgresql")
+    runtimeOnly("org.flywaydb:flyway-database-postgresql")
 
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
@@ -75,6 +110,54 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.1")
 }
 
+// Precompressed variants of the static resources, served by EncodedResourceResolver according to Accept-Encoding.
+// Brotli needs the brotli CLI on the build machine; without it only gzip variants are generated.
+val compressibleAssets = setOf("js", "css", "html", "svg", "json", "map", "txt")
+val staticAssetsDir = layout.projectDirectory.dir("src/main/resources/static")
+val compressedAssetsDir = layout.buildDirectory.dir("generated/compressed-resources")
+
+val compressStaticAssets by tasks.registering {
+    group = "build"
+    description = "Writes .gz and .br variants of the static resources next to them."
+    inputs.dir(staticAssetsDir)
+    outputs.dir(compressedAssetsDir)
+    doLast {
+        val source = staticAssetsDir.asFile
+        val target = compressedAssetsDir.get().dir("static").asFile
+        delete(target)
+        val brotli = try {
+            ProcessBuilder("brotli", "--version").start().waitFor() == 0
+        } catch (ex: IOException) {
+            logger.warn("brotli not found, generating gzip variants only")
+            false
+        }
+        source.walkTopDown()
+            .filter { it.isFile && it.extension in compressibleAssets && it.length() >= 1024 }
+            .forEach { file ->
+                val out = File(target, file.relativeTo(source).path)
+                out.parentFile.mkdirs()
+                File(out.path + ".gz").outputStream().use { stream ->
+                    object : GZIPOutputStream(stream) {
+                        init {
+                            def.setLevel(Deflater.BEST_COMPRESSION)
+                        }
+                    }.use { gzip -> file.inputStream().use { it.copyTo(gzip) } }
+                }
+                if (brotli) {
+                    val exit = ProcessBuilder("brotli", "-q", "11", "-f", "-o", out.path + ".br", file.path)
+                        .inheritIO()
+                        .start()
+                        .waitFor()
+                    check(exit == 0) { "brotli failed on $file" }
+                }
+            }
+    }
+}
+
+sourceSets.main {
+    resources.srcDir(compressStaticAssets)
+}
+
 tasks.withType<Test>() {
     finalizedBy(tasks.jacocoTestReport)
     useJUnitPlatform()
@@ -85,8 +168,126 @@ tasks.withType<Test>() {
     }
 }
 
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("allocation", "benchmark")
+    }
+}
+
+// Allocation budgets are measured per thread and need a quiet JVM, so they run in their own forked JVM.
+val allocationTest by tasks.registering(Test::class) {
+    group = "verification"
+    description = "Checks bytes allocated per request against src/test/resources/allocation-budgets.properties."
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("allocation")
+    }
+    systemProperty("allocation.record", project.hasProperty("recordAllocation"))
+    shouldRunAfter(tasks.test)
+}
+
+// allocationTest joins check once allocation-budgets.properties holds values from a record run; until then the
+// provisional budgets are too loose to guard anything and it only runs on `make allocation-test`.
+
+// Wall-clock benchmarks are too noisy for CI, so they are opt-in and not part of check.
+val benchmarkTest by tasks.registering(Test::class) {
+    group = "verification"
+    description = "Runs the timing benchmarks tagged with \"benchmark\"."
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+}
+
 tasks.jacocoTestReport {
     reports {
         xml.required.set(true)
     }
 }
+
+val fastStartDir = layout.buildDirectory.dir("fast-start")
+val fastStartJar = tasks.bootJar.flatMap { it.archiveFileName }
+
+fun fastStartCommand(vararg options: String): List<String> {
+    val command = mutableListOf("java", *options)
+    if (fastStart) {
+        command += "-Dspring.aot.enabled=true"
+    }
+    command += listOf("-Dspring.profiles.active=$fastStartProfiles", "-jar", fastStartJar.get())
+    return command
+}
+
+val extractFastStart by tasks.registering(Exec::class) {
+    group = "distribution"
+    description = "Extracts the boot jar into an exploded layout that can use a class data sharing archive."
+    dependsOn(tasks.bootJar)
+    doFirst {
+        delete(fastStartDir)
+    }
+    commandLine("java", "-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+        "extract", "--destination", fastStartDir.get().asFile.absolutePath)
+}
+
+// The training run refreshes the context and exits before any runner, so it needs the same database
+// settings as a normal start with the selected profiles.
+val trainCds by tasks.registering(Exec::class) {
+    group = "distribution"
+    description = "Records the classes loaded during startup into an AppCDS archive (app.jsa)."
+    dependsOn(extractFastStart)
+    workingDir(fastStartDir)
+    commandLine(fastStartCommand("-XX:ArchiveClassesAtExit=app.jsa", "-Dspring.context.exit=onRefresh"))
+}
+
+tasks.register("startupBenchmark") {
+    group = "verification"
+    description = "Compares time to first request and resident memory with and without the fast-start layout."
+    dependsOn(trainCds)
+    doLast {
+        val port = (findProperty("benchmarkPort") ?: "18080").toString()
+        val dir = fastStartDir.get().asFile
+
+        fun measure(label: String, command: List<String>) {
+            val log = File(dir, "startup-$label.log")
+            val start = System.nanoTime()
+            val process = ProcessBuilder(command + "--server.port=$port")
+                .directory(dir)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start()
+            try {
+                val url = URI("http://localhost:$port/welcome").toURL()
+                val deadline = start + 120_000_000_000L
+                while (true) {
+                    check(process.isAlive) { "$label run exited early, see $log" }
+                    check(System.nanoTime() < deadline) { "$label run did not answer within 120s, see $log" }
+                    val ready = try {
+                        (url.openConnection() as HttpURLConnection).responseCode == 200
+                    } catch (ex: IOException) {
+                        false
+                    }
+                    if (ready) {
+                        break
+                    }
+                    Thread.sleep(20)
+                }
+                val millis = (System.nanoTime() - start) / 1_000_000
+                val rss = File("/proc/${process.pid()}/status").takeIf { it.exists() }
+                    ?.readLines()
+                    ?.firstOrNull { it.startsWith("VmRSS:") }
+                    ?.substringAfter(':')
+                    ?.trim()
+                    ?: "n/a"
+                logger.lifecycle("$label: first request after $millis ms, RSS $rss")
+            } finally {
+                process.destroy()
+                process.waitFor()
+            }
+        }
+
+        measure("baseline", listOf("java", "-Dspring.profiles.active=$fastStartProfiles", "-jar",
+            tasks.bootJar.get().archiveFile.get().asFile.absolutePath))
+        measure("fast-start", fastStartCommand("-XX:SharedArchiveFile=app.jsa"))
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Locale;
@@ -12,6 +14,8 @@ import java.util.Locale;
 @SpringBootApplication
 @RestController
 @EnableJpaAuditing
+@EnableScheduling
+@EnableAsync
 public class AppApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.admin")
+@Getter
+@Setter
+public class AdminProperties {
+    // users whose tokens carry the admin scope, which the operational actuator endpoints require
+    private List<String> emails = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+@Getter
+@Setter
+public class ArchiveProperties {
+    private boolean enabled;
+    private String status = "published";
+    private int afterDays = 30;
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 100;
+    private Duration interval = Duration.ofHours(1);
+}
@@ -0,0 +1,49 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.bulkhead")
+@Getter
+@Setter
+public class BulkheadProperties {
+
+    private boolean enabled;
+
+    // how long a request may wait for a thread permit of its class before it is shed
+    private Duration maxWait = Duration.ofMillis(50);
+
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    private List<String> bulkPaths = new ArrayList<>(List.of("/api/tasks/export", "/api/imports"));
+
+    private List<String> authPaths = new ArrayList<>(List.of("/api/login"));
+
+    private Budget interactive = new Budget(150, 6);
+
+    private Budget bulk = new Budget(8, 2);
+
+    private Budget auth = new Budget(20, 2);
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private int maxConcurrent;
+        private int maxConnections;
+
+        public Budget() {
+        }
+
+        public Budget(int maxConcurrent, int maxConnections) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxConnections = maxConnections;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+@Getter
+@Setter
+public class CacheInvalidationProperties {
+    private boolean enabled;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int batchSize = 500;
+    private int maxBatchesPerPoll = 10;
+    private Duration commitGrace = Duration.ofSeconds(30);
+    private Duration retention = Duration.ofHours(1);
+}
@@ -0,0 +1,37 @@
+package hexlet.code.component;
+
+import hexlet.code.repository.CacheInvalidationRepository;
+import hexlet.code.service.ClusterJob;
+import hexlet.code.service.JobRunner;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "app.cache-invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationPruner implements ClusterJob {
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final CacheInvalidationProperties cacheInvalidationProperties;
+    private final JobRunner jobRunner;
+
+    @Scheduled(fixedDelayString = "${app.cache-invalidation.retention:PT1H}")
+    public void prune() {
+        jobRunner.run(this);
+    }
+
+    @Override
+    public String getName() {
+        return "cache-invalidation-pruner";
+    }
+
+    @Override
+    public ChunkResult runChunk(String checkpoint) {
+        var before = Instant.now().minus(cacheInvalidationProperties.getRetention());
+        return ChunkResult.done(cacheInvalidationRepository.deleteCreatedBefore(before));
+    }
+}
@@ -0,0 +1,123 @@
+package hexlet.code.component;
+
+import hexlet.code.repository.CacheInvalidationRepository;
+import hexlet.code.repository.CacheInvalidationRepository.Entry;
+import hexlet.code.service.CacheInvalidationListener;
+import hexlet.code.service.CacheRegion;
+import hexlet.code.service.JobRunner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails the invalidation log written by the other nodes and hands every record to the local listeners.
+ * Identity values are handed out before commit, so a record may show up after records with higher ids. The cursor
+ * therefore only moves past records older than the commit grace period; newer ones are read again on every poll and
+ * remembered so that they are not applied twice. Only batches with unseen records count against the per-poll limit.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.cache-invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationTailer {
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+
+    private final CacheInvalidationProperties properties;
+
+    private final List<CacheInvalidationListener> listeners;
+
+    private final String nodeId;
+
+    private final Set<Long> applied = new HashSet<>();
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final Timer lag;
+
+    private final Counter received;
+
+    private long cursor;
+
+    public CacheInvalidationTailer(CacheInvalidationRepository cacheInvalidationRepository,
+                                   CacheInvalidationProperties properties,
+                                   List<CacheInvalidationListener> listeners,
+                                   JobRunner jobRunner,
+                                   MeterRegistry meterRegistry) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.properties = properties;
+        this.listeners = listeners;
+        this.nodeId = jobRunner.getNodeId();
+        // local caches start empty, so nothing written before startup needs to be replayed
+        this.cursor = cacheInvalidationRepository.findMaxId();
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from a write on another node to the local eviction")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received").register(meterRegistry);
+        Gauge.builder("cache.invalidation.backlog", backlog, AtomicLong::get)
+                .description("Records left unread after the last poll")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache-invalidation.poll-interval:PT1S}")
+    public synchronized void poll() {
+        var now = Instant.now();
+        var settledBefore = now.minus(properties.getCommitGrace());
+        var batchSize = properties.getBatchSize();
+        var after = cursor;
+        var settled = true;
+        var more = true;
+        var batches = 0;
+        while (more && batches < properties.getMaxBatchesPerPoll()) {
+            var entries = cacheInvalidationRepository.findAfter(after, batchSize);
+            var fresh = false;
+            for (var entry : entries) {
+                if (applied.add(entry.id())) {
+                    fresh = true;
+                    if (!nodeId.equals(entry.node())) {
+                        apply(entry, now);
+                    }
+                }
+                settled = settled && entry.createdAt().isBefore(settledBefore);
+                if (settled) {
+                    cursor = entry.id();
+                }
+                after = entry.id();
+            }
+            more = entries.size() == batchSize;
+            if (fresh) {
+                batches++;
+            }
+        }
+        applied.removeIf(id -> id <= cursor);
+        backlog.set(more ? cacheInvalidationRepository.countAfter(after) : 0);
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    private void apply(Entry entry, Instant now) {
+        var region = CacheRegion.valueOf(entry.region());
+        for (var listener : listeners) {
+            try {
+                listener.invalidate(region, entry.entityId());
+            } catch (RuntimeException ex) {
+                log.warn("Cache listener {} failed on {} {}", listener, region, entry.entityId(), ex);
+            }
+        }
+        received.increment();
+        lag.record(Duration.between(entry.createdAt(), now).abs());
+    }
+}
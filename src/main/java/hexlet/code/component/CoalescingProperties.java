@@ -0,0 +1,20 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.coalescing")
+@Getter
+@Setter
+public class CoalescingProperties {
+    private boolean enabled;
+    private Duration staleness = Duration.ofMillis(100);
+    // each entry holds a fully rendered list, so memory is bounded by max-entries times max-tasks rows
+    private int maxEntries = 100;
+    private int maxTasks = 200;
+}
@@ -3,6 +3,9 @@ package hexlet.code.component;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.UserCreateDTO;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
 import hexlet.code.service.LabelService;
 import hexlet.code.service.TaskStatusService;
 import hexlet.code.service.UserService;
@@ -21,6 +24,9 @@ public class DataInitializer implements ApplicationRunner {
     private final UserService userService;
     private final TaskStatusService taskStatusService;
     private final LabelService labelService;
+    private final UserRepository userRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
@@ -29,7 +35,9 @@ public class DataInitializer implements ApplicationRunner {
         admin.setFirstName("Admin");
         admin.setLastName("Admin");
         admin.setPassword("qwerty");
-        userService.create(admin);
+        if (!userRepository.existsByEmail(admin.getEmail())) {
+            userService.create(admin);
+        }
 
         List<TaskStatusCreateDTO> taskStatuses = Arrays.asList(
                 new TaskStatusCreateDTO("Draft", "draft"),
@@ -38,12 +46,16 @@ public class DataInitializer implements ApplicationRunner {
                 new TaskStatusCreateDTO("ToPublish", "to_publish"),
                 new TaskStatusCreateDTO("Published", "published")
         );
-        taskStatuses.forEach(taskStatusService::create);
+        taskStatuses.stream()
+                .filter(status -> !taskStatusRepository.existsBySlug(status.getSlug()))
+                .forEach(taskStatusService::create);
 
         List<LabelCreateDTO> label = List.of(
                 new LabelCreateDTO("feature"),
                 new LabelCreateDTO("bug")
         );
-        label.forEach(labelService::create);
+        label.stream()
+                .filter(labelCreateDTO -> !labelRepository.existsByName(labelCreateDTO.getName()))
+                .forEach(labelService::create);
     }
 }
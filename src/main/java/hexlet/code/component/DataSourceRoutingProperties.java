@@ -0,0 +1,38 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+
+    private Routing routing = new Routing();
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Routing {
+        private boolean enabled;
+        private Duration stickiness = Duration.ofSeconds(5);
+        private int maxStickyClients = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,19 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 10_000;
+    // how long a duplicate waits for the first attempt before it is told to retry later
+    private Duration maxWait = Duration.ofSeconds(10);
+}
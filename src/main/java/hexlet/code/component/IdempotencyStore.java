@@ -0,0 +1,181 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key} header. A repeated key gets the stored
+ * result without running the action again, and a duplicate that arrives while the first attempt is still running
+ * waits for it, up to {@code app.idempotency.max-wait}. Failed attempts are forgotten so that the client can retry
+ * them. A key reused with a different request body is refused with 422 instead of replaying an unrelated result.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    private final long maxWaitNanos;
+
+    private final ObjectMapper objectMapper;
+
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, System::nanoTime);
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper, LongSupplier clock) {
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxEntries = properties.getMaxEntries();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * Runs the action once per scope, caller and key. The request, serialized to JSON, identifies the payload
+     * the key was first used with.
+     */
+    public <T> Result<T> execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        var storeKey = scope + '\n' + caller() + '\n' + key;
+
+        var entry = new Entry(clock.getAsLong(), fingerprint(request));
+        Entry existing;
+        synchronized (entries) {
+            evictExpired(entry.createdAt);
+            existing = entries.get(storeKey);
+            if (existing == null) {
+                entries.put(storeKey, entry);
+                if (entries.size() > maxEntries) {
+                    var eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+
+        if (existing != null) {
+            if (!MessageDigest.isEqual(existing.fingerprint, entry.fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used with a different request");
+            }
+            return new Result<>(await(existing), true);
+        }
+
+        try {
+            var value = action.get();
+            entry.future.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error ex) {
+            synchronized (entries) {
+                entries.remove(storeKey, entry);
+            }
+            entry.future.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private void evictExpired(long now) {
+        var iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().createdAt <= ttlNanos) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Entry entry) {
+        try {
+            return (T) entry.future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this " + HEADER
+                    + " is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint the request", ex);
+        }
+    }
+
+    // signed-in callers are told apart by name; anonymous ones (sign-up) by client address
+    private static String caller() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "address:" + attributes.getRequest().getRemoteAddr();
+        }
+        return "";
+    }
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private static final class Entry {
+
+        private final long createdAt;
+
+        private final byte[] fingerprint;
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Entry(long createdAt, byte[] fingerprint) {
+            this.createdAt = createdAt;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
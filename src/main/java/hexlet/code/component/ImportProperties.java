@@ -0,0 +1,23 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "app.import")
+@Getter
+@Setter
+public class ImportProperties {
+    private int chunkSize = 500;
+    private int maxErrors = 100;
+    private int maxFieldLength = 10_000;
+    private int maxLineLength = 100_000;
+    private DataSize maxUploadSize = DataSize.ofMegabytes(50);
+    private int workers = 1;
+    private int queueCapacity = 10;
+    private int retainedJobs = 100;
+    private String spoolDirectory = System.getProperty("java.io.tmpdir");
+}
@@ -0,0 +1,23 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.jfr")
+@Getter
+@Setter
+public class JfrProperties {
+    private boolean enabled;
+    // JDK settings the recordings start from, "default" or "profile"
+    private String settings = "profile";
+    private Duration threshold = Duration.ofMillis(1);
+    private Duration defaultDuration = Duration.ofSeconds(30);
+    private Duration maxDuration = Duration.ofMinutes(5);
+    private DataSize maxSize = DataSize.ofMegabytes(200);
+}
@@ -0,0 +1,181 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.specification.TaskSpecification;
+import hexlet.code.utils.JWTUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the hot request paths with synthetic, in-memory data before the application reports ready. Spring Boot
+ * only publishes {@code ReadinessState.ACCEPTING_TRAFFIC} once every runner has returned, so the readiness probe
+ * stays down while this runs. Nothing here reads or writes the database.
+ */
+@Component
+@Slf4j
+public class JitWarmup implements ApplicationRunner, Ordered {
+
+    private static final String SUBJECT = "warmup@localhost";
+
+    @Autowired
+    private WarmupProperties warmupProperties;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskSpecification taskSpecification;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong durationNanos = new AtomicLong();
+
+    private final AtomicLong firstIterationNanos = new AtomicLong();
+
+    private final AtomicLong lastIterationNanos = new AtomicLong();
+
+    private long sink;
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!warmupProperties.isEnabled()) {
+            return;
+        }
+        var tasks = sampleTasks(warmupProperties.getTasksPerIteration());
+        var filters = sampleFilters();
+        var token = jwtUtils.generateToken(SUBJECT);
+
+        var iterations = warmupProperties.getIterations();
+        var window = Math.max(1, iterations / 10);
+        var start = System.nanoTime();
+        var deadline = start + warmupProperties.getMaxDuration().toNanos();
+        var completed = 0;
+        while (completed < iterations && System.nanoTime() < deadline) {
+            var windowStart = System.nanoTime();
+            var end = Math.min(iterations, completed + window);
+            for (; completed < end; completed++) {
+                iterate(tasks, filters.get(completed % filters.size()), token);
+            }
+            var perIteration = (System.nanoTime() - windowStart) / window;
+            firstIterationNanos.compareAndSet(0, perIteration);
+            lastIterationNanos.set(perIteration);
+        }
+        durationNanos.set(System.nanoTime() - start);
+        register();
+
+        log.info("Warm-up ran {} iterations in {} ms, iteration time {} us -> {} us",
+                completed, TimeUnit.NANOSECONDS.toMillis(durationNanos.get()),
+                TimeUnit.NANOSECONDS.toMicros(firstIterationNanos.get()),
+                TimeUnit.NANOSECONDS.toMicros(lastIterationNanos.get()));
+        log.debug("Warm-up checksum {}", sink);
+    }
+
+    private void iterate(List<Task> tasks, TaskFilterDTO filter, String token) throws Exception {
+        var dtos = new ArrayList<TaskDTO>(tasks.size());
+        for (var task : tasks) {
+            dtos.add(taskMapper.map(task));
+        }
+        sink += objectMapper.writeValueAsBytes(dtos).length;
+
+        var cb = entityManagerFactory.getCriteriaBuilder();
+        var query = cb.createQuery(Task.class);
+        var root = query.from(Task.class);
+        query.where(taskSpecification.build(filter).toPredicate(root, query, cb));
+        sink += query.getRoots().size();
+
+        sink += jwtDecoder.decode(token).getClaims().size();
+    }
+
+    private void register() {
+        TimeGauge.builder("application.warmup.time", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Time spent warming up before reporting ready")
+                .register(meterRegistry);
+        TimeGauge.builder("application.warmup.iteration", firstIterationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Average warm-up iteration time")
+                .tag("phase", "first")
+                .register(meterRegistry);
+        TimeGauge.builder("application.warmup.iteration", lastIterationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Average warm-up iteration time")
+                .tag("phase", "last")
+                .register(meterRegistry);
+    }
+
+    private static List<Task> sampleTasks(int count) {
+        var status = new TaskStatus();
+        status.setId(1);
+        status.setName("Warm-up");
+        status.setSlug("warm_up");
+
+        var assignee = new User();
+        assignee.setId(1);
+        assignee.setEmail(SUBJECT);
+
+        var tasks = new ArrayList<Task>(count);
+        for (int i = 0; i < count; i++) {
+            var label = new Label();
+            label.setId(i + 1);
+            label.setName("label-" + i);
+
+            var task = new Task();
+            task.setId(i + 1);
+            task.setIndex(i);
+            task.setName("Warm-up task " + i);
+            task.setDescription("Synthetic task used to warm up the mapping and serialization paths");
+            task.setTaskStatus(status);
+            task.setAssignee(i % 2 == 0 ? assignee : null);
+            task.getLabels().add(label);
+            task.setCreatedAt(LocalDate.now());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static List<TaskFilterDTO> sampleFilters() {
+        var all = new TaskFilterDTO();
+        var filtered = new TaskFilterDTO();
+        filtered.setTitleCont("warm");
+        filtered.setAssigneeId(1L);
+        filtered.setStatus("warm_up");
+        filtered.setLabelId(1L);
+        return List.of(all, filtered);
+    }
+}
@@ -0,0 +1,18 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.jobs")
+@Getter
+@Setter
+public class JobProperties {
+    private String nodeId;
+    private Duration leaseDuration = Duration.ofMinutes(5);
+    private int historySize = 20;
+}
@@ -0,0 +1,21 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.query-timeout")
+@Getter
+@Setter
+public class QueryTimeoutProperties {
+    private boolean enabled;
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+    // request path prefix to statement timeout, the longest matching prefix wins; zero disables the timeout
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+}
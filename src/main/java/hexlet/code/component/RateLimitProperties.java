@@ -0,0 +1,37 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled;
+
+    // buckets kept per limiter; about 100 bytes each, and only busy buckets count against it
+    private int maxKeys = 100_000;
+
+    private Limit user = new Limit(20, 40);
+
+    private Limit ip = new Limit(10, 20);
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private double requestsPerSecond;
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double requestsPerSecond, int burst) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.static-assets")
+@Getter
+@Setter
+public class StaticAssetProperties {
+    // fingerprinted bundle; a file: location lets the container send files without copying them through the heap
+    private String location = "classpath:/static/assets/";
+    private Duration maxAge = Duration.ofDays(365);
+    private DataSize minSendfileSize = DataSize.ofKilobytes(48);
+}
@@ -0,0 +1,55 @@
+package hexlet.code.component;
+
+import hexlet.code.config.WorkloadClass;
+import hexlet.code.service.ClusterJob;
+import hexlet.code.service.JobRunner;
+import hexlet.code.service.TaskArchiveService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@AllArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class TaskArchiver implements ClusterJob {
+
+    private final TaskArchiveService taskArchiveService;
+    private final ArchiveProperties archiveProperties;
+    private final JobRunner jobRunner;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}", initialDelayString = "${app.archive.interval:PT1H}")
+    public void archiveFinishedTasks() {
+        WorkloadClass.runAs(WorkloadClass.BULK, () -> jobRunner.run(this));
+    }
+
+    @Override
+    public String getName() {
+        return "task-archiver";
+    }
+
+    @Override
+    public int getMaxChunksPerRun() {
+        return archiveProperties.getMaxBatchesPerRun();
+    }
+
+    // the checkpoint keeps the cut-off date, so a run resumed later or elsewhere finishes the same set of tasks
+    @Override
+    public ChunkResult runChunk(String checkpoint) {
+        var finishedBefore = checkpoint != null
+                ? LocalDate.parse(checkpoint)
+                : LocalDate.now().minusDays(archiveProperties.getAfterDays());
+        var batchSize = archiveProperties.getBatchSize();
+        var archived = taskArchiveService.archiveBatch(archiveProperties.getStatus(), finishedBefore, batchSize);
+        if (archived > 0) {
+            log.info("Archived {} tasks finished before {}", archived, finishedBefore);
+        }
+        return archived < batchSize
+                ? ChunkResult.done(archived)
+                : ChunkResult.next(archived, finishedBefore.toString());
+    }
+}
@@ -0,0 +1,45 @@
+package hexlet.code.component;
+
+import hexlet.code.service.CacheInvalidationListener;
+import hexlet.code.service.CacheRegion;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter of task writes used to decide whether a shared read result may still be handed out.
+ */
+@Component
+public class TaskWriteVersion implements CacheInvalidationListener {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Bumps the version now, so reads starting during the write do not join older results, and again once the
+     * transaction completes, so results read before the commit became visible are not reused either.
+     */
+    public void bump() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    // called for local commits and remote records alike; task lists embed statuses, labels and assignees,
+    // so a change to any of them makes shared results stale
+    @Override
+    public void invalidate(CacheRegion region, Long entityId) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,30 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.trace-sampling")
+@Getter
+@Setter
+public class TraceSamplingProperties {
+    private boolean enabled;
+    private double defaultRate = 0.05;
+    // request path prefix to sample rate of fast, successful transactions; the longest matching prefix wins
+    private Map<String, Double> rates = new LinkedHashMap<>();
+    private Duration slowThreshold = Duration.ofSeconds(1);
+    // request path prefix to latency above which a transaction is always kept
+    private Map<String, Duration> slowThresholds = new LinkedHashMap<>();
+    private double maxPerSecond = 10;
+    private int burst = 20;
+    // paths that are never traced
+    private List<String> ignoredPaths = new ArrayList<>();
+}
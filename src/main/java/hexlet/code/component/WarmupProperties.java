@@ -0,0 +1,19 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.warmup")
+@Getter
+@Setter
+public class WarmupProperties {
+    private boolean enabled;
+    private int iterations = 5000;
+    private int tasksPerIteration = 20;
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,138 @@
+package hexlet.code.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gradient concurrency limit: the in-flight limit follows the ratio between the lowest latency seen and
+ * the smoothed current latency. While latency stays near its floor the limit grows by about sqrt(limit) per
+ * sample, and once requests start queueing the ratio drops below one and the limit shrinks.
+ * Low priority requests may only use a share of the limit, so they are shed first, and their latency is not
+ * sampled: slow exports and password hashing would otherwise read as queueing and shrink the limit for everyone.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // the latency floor is re-learned from the lowest latency of the last this many samples
+    private static final int MIN_RTT_RESET_SAMPLES = 1000;
+
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final double tolerance;
+
+    private final double lowPriorityShare;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejectedNormal = new LongAdder();
+
+    private final LongAdder rejectedLow = new LongAdder();
+
+    private volatile double limit;
+
+    private volatile double smoothedRttNanos;
+
+    private volatile long minRttNanos;
+
+    private long windowMinRttNanos = Long.MAX_VALUE;
+
+    private int samples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                      double tolerance, double lowPriorityShare) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.lowPriorityShare = lowPriorityShare;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire(Priority priority) {
+        var allowed = priority == Priority.LOW
+                ? Math.max(1, (int) (limit * lowPriorityShare))
+                : (int) limit;
+        while (true) {
+            var current = inFlight.get();
+            if (current >= allowed) {
+                (priority == Priority.LOW ? rejectedLow : rejectedNormal).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot taken by {@link #tryAcquire} and feeds the request latency into the limit.
+     * Dropped requests (failures that say nothing about latency) back the limit off.
+     */
+    public void release(Priority priority, long rttNanos, boolean dropped) {
+        var inFlightBefore = inFlight.getAndDecrement();
+        if (priority != Priority.LOW) {
+            update(rttNanos, dropped, inFlightBefore);
+        }
+    }
+
+    private synchronized void update(long rttNanos, boolean dropped, int inFlightBefore) {
+        var rtt = Math.max(1, rttNanos);
+        windowMinRttNanos = Math.min(windowMinRttNanos, rtt);
+        if (++samples % MIN_RTT_RESET_SAMPLES == 0) {
+            // a floor only ever lowered would never notice a permanently slower backend
+            minRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+        } else if (minRttNanos == 0 || rtt < minRttNanos) {
+            minRttNanos = rtt;
+        }
+        smoothedRttNanos = smoothedRttNanos == 0
+                ? rttNanos
+                : smoothedRttNanos * (1 - smoothing) + rttNanos * smoothing;
+
+        double target;
+        if (dropped) {
+            target = limit * DROP_BACKOFF;
+        } else if (inFlightBefore < limit / 2) {
+            // far below the limit the latency says nothing about how much more load would fit
+            return;
+        } else {
+            var gradient = Math.max(0.5, Math.min(1.0, tolerance * minRttNanos / smoothedRttNanos));
+            target = limit * gradient + Math.sqrt(limit);
+        }
+        var next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected(Priority priority) {
+        return (priority == Priority.LOW ? rejectedLow : rejectedNormal).sum();
+    }
+
+    public double getSmoothedRttNanos() {
+        return smoothedRttNanos;
+    }
+
+    public long getMinRttNanos() {
+        return minRttNanos;
+    }
+
+    public enum Priority {
+        NORMAL,
+        LOW
+    }
+}
@@ -0,0 +1,88 @@
+package hexlet.code.config;
+
+import hexlet.code.component.BulkheadProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkheads bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        var bulkheads = new Bulkheads(properties);
+        for (var workload : WorkloadClass.values()) {
+            Gauge.builder("bulkhead.threads.available", bulkheads, b -> b.getAvailableThreads(workload))
+                    .tag("class", workload.tag())
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.connections.available", bulkheads, b -> b.getAvailableConnections(workload))
+                    .tag("class", workload.tag())
+                    .register(meterRegistry);
+            FunctionCounter.builder("bulkhead.rejected", bulkheads, b -> b.getRejectedThreads(workload))
+                    .tag("class", workload.tag())
+                    .tag("resource", "thread")
+                    .register(meterRegistry);
+            FunctionCounter.builder("bulkhead.waited", bulkheads, b -> b.getWaitedThreads(workload))
+                    .tag("class", workload.tag())
+                    .register(meterRegistry);
+            FunctionCounter.builder("bulkhead.rejected", bulkheads, b -> b.getRejectedConnections(workload))
+                    .tag("class", workload.tag())
+                    .tag("resource", "connection")
+                    .register(meterRegistry);
+        }
+        return bulkheads;
+    }
+
+    // declared with its own type so the container sees it is ordered before it creates it
+    @Bean
+    static BulkheadDataSourcePostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<Bulkheads> bulkheads) {
+        return new BulkheadDataSourcePostProcessor(bulkheads);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(Bulkheads bulkheads) {
+        var registration = new FilterRegistrationBean<>(new BulkheadFilter(bulkheads));
+        registration.addUrlPatterns("/api/*");
+        // ahead of the adaptive limiter, so a saturated class is shed before it takes a share of the global limit
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    /**
+     * Wraps the data source before the unordered post-processors do, so the statement interceptors they add
+     * all end up in the one {@link InterceptingDataSource} on top of it.
+     */
+    static final class BulkheadDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<Bulkheads> bulkheads;
+
+        BulkheadDataSourcePostProcessor(ObjectProvider<Bulkheads> bulkheads) {
+            this.bulkheads = bulkheads;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                    || bean instanceof BulkheadDataSource) {
+                return bean;
+            }
+            return new BulkheadDataSource(dataSource, bulkheads.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
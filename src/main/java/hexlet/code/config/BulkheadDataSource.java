@@ -0,0 +1,69 @@
+package hexlet.code.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Takes a connection permit of the current workload class for as long as a connection is checked out. Threads
+ * without a class, such as the scheduler and the async executor, use the pool directly.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Bulkheads bulkheads;
+
+    public BulkheadDataSource(DataSource targetDataSource, Bulkheads bulkheads) {
+        super(targetDataSource);
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var workload = WorkloadClass.current();
+        if (workload == null) {
+            return super.getConnection();
+        }
+        acquire(workload);
+        try {
+            return releasing(super.getConnection(), workload);
+        } catch (SQLException | RuntimeException ex) {
+            bulkheads.releaseConnection(workload);
+            throw ex;
+        }
+    }
+
+    private void acquire(WorkloadClass workload) throws SQLException {
+        boolean acquired;
+        try {
+            acquired = bulkheads.tryAcquireConnection(workload);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException(
+                    "Connection budget of the " + workload.tag() + " workload is exhausted");
+        }
+    }
+
+    private Connection releasing(Connection connection, WorkloadClass workload) {
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        bulkheads.releaseConnection(workload);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,50 @@
+package hexlet.code.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Assigns each request its workload class and holds one of the class's thread permits while it runs. A request
+ * that cannot get a permit within the configured wait is answered with 503 and never reaches the controllers.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkheads bulkheads;
+
+    public BulkheadFilter(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var workload = bulkheads.classify(request.getRequestURI().substring(request.getContextPath().length()));
+        boolean entered;
+        try {
+            entered = bulkheads.tryEnter(workload);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+
+        var previous = WorkloadClass.set(workload);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            WorkloadClass.set(previous);
+            bulkheads.exit(workload);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hexlet.code.config;
+
+import hexlet.code.component.BulkheadProperties;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread and connection budgets per workload class. Both are permits on the shared Tomcat and Hikari pools:
+ * a class that runs out is shed or refused on its own, while the capacity the other classes are entitled to
+ * stays free.
+ */
+public class Bulkheads {
+
+    private final Map<WorkloadClass, Semaphore> threads = new EnumMap<>(WorkloadClass.class);
+
+    private final Map<WorkloadClass, Semaphore> connections = new EnumMap<>(WorkloadClass.class);
+
+    private final Map<WorkloadClass, AtomicLong> rejectedThreads = new EnumMap<>(WorkloadClass.class);
+
+    private final Map<WorkloadClass, AtomicLong> waitedThreads = new EnumMap<>(WorkloadClass.class);
+
+    private final Map<WorkloadClass, AtomicLong> rejectedConnections = new EnumMap<>(WorkloadClass.class);
+
+    private final List<String> bulkPaths;
+
+    private final List<String> authPaths;
+
+    private final long maxWaitNanos;
+
+    private final long connectionTimeoutNanos;
+
+    public Bulkheads(BulkheadProperties properties) {
+        this.bulkPaths = List.copyOf(properties.getBulkPaths());
+        this.authPaths = List.copyOf(properties.getAuthPaths());
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.connectionTimeoutNanos = properties.getConnectionTimeout().toNanos();
+        budget(WorkloadClass.INTERACTIVE, properties.getInteractive());
+        budget(WorkloadClass.BULK, properties.getBulk());
+        budget(WorkloadClass.AUTH, properties.getAuth());
+    }
+
+    public WorkloadClass classify(String path) {
+        if (matches(path, authPaths)) {
+            return WorkloadClass.AUTH;
+        }
+        if (matches(path, bulkPaths)) {
+            return WorkloadClass.BULK;
+        }
+        return WorkloadClass.INTERACTIVE;
+    }
+
+    public boolean tryEnter(WorkloadClass workload) throws InterruptedException {
+        var permits = threads.get(workload);
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        waitedThreads.get(workload).incrementAndGet();
+        if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        rejectedThreads.get(workload).incrementAndGet();
+        return false;
+    }
+
+    public void exit(WorkloadClass workload) {
+        threads.get(workload).release();
+    }
+
+    public boolean tryAcquireConnection(WorkloadClass workload) throws InterruptedException {
+        if (connections.get(workload).tryAcquire(connectionTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        rejectedConnections.get(workload).incrementAndGet();
+        return false;
+    }
+
+    public void releaseConnection(WorkloadClass workload) {
+        connections.get(workload).release();
+    }
+
+    public int getAvailableThreads(WorkloadClass workload) {
+        return threads.get(workload).availablePermits();
+    }
+
+    public int getAvailableConnections(WorkloadClass workload) {
+        return connections.get(workload).availablePermits();
+    }
+
+    public long getRejectedThreads(WorkloadClass workload) {
+        return rejectedThreads.get(workload).get();
+    }
+
+    /**
+     * Requests that found no free permit and had to wait for one, whether or not they got it in time.
+     */
+    public long getWaitedThreads(WorkloadClass workload) {
+        return waitedThreads.get(workload).get();
+    }
+
+    public long getRejectedConnections(WorkloadClass workload) {
+        return rejectedConnections.get(workload).get();
+    }
+
+    private void budget(WorkloadClass workload, BulkheadProperties.Budget budget) {
+        threads.put(workload, new Semaphore(budget.getMaxConcurrent()));
+        connections.put(workload, new Semaphore(budget.getMaxConnections()));
+        rejectedThreads.put(workload, new AtomicLong());
+        waitedThreads.put(workload, new AtomicLong());
+        rejectedConnections.put(workload, new AtomicLong());
+    }
+
+    private static boolean matches(String path, List<String> prefixes) {
+        for (var prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
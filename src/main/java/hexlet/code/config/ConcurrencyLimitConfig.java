@@ -0,0 +1,59 @@
+package hexlet.code.config;
+
+import hexlet.code.component.ConcurrencyLimitProperties;
+import hexlet.code.config.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        var limiter = new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getSmoothing(), properties.getTolerance(),
+                properties.getLowPriorityShare());
+
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive in-flight request limit")
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        TimeGauge.builder("http.server.concurrency.latency", limiter, TimeUnit.NANOSECONDS,
+                        AdaptiveConcurrencyLimiter::getSmoothedRttNanos)
+                .description("Smoothed latency the limit is adapted to")
+                .register(meterRegistry);
+        for (var priority : Priority.values()) {
+            FunctionCounter.builder("http.server.concurrency.rejected", limiter, l -> l.getRejected(priority))
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter, ConcurrencyLimitProperties properties) {
+        var registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, properties.getLowPriorityPaths()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public ConcurrencyLimitEndpoint concurrencyLimitEndpoint(AdaptiveConcurrencyLimiter limiter) {
+        return new ConcurrencyLimitEndpoint(limiter);
+    }
+}
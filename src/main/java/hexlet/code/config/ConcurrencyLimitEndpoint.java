@@ -0,0 +1,32 @@
+package hexlet.code.config;
+
+import hexlet.code.config.AdaptiveConcurrencyLimiter.Priority;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Endpoint(id = "concurrency")
+public class ConcurrencyLimitEndpoint {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitEndpoint(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> concurrency() {
+        var state = new LinkedHashMap<String, Object>();
+        state.put("limit", limiter.getLimit());
+        state.put("inFlight", limiter.getInFlight());
+        state.put("rejectedNormal", limiter.getRejected(Priority.NORMAL));
+        state.put("rejectedLow", limiter.getRejected(Priority.LOW));
+        state.put("latencyMillis", limiter.getSmoothedRttNanos() / NANOS_PER_MILLI);
+        state.put("minLatencyMillis", limiter.getMinRttNanos() / NANOS_PER_MILLI);
+        return state;
+    }
+}
@@ -0,0 +1,59 @@
+package hexlet.code.config;
+
+import hexlet.code.config.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sheds requests with 503 once the adaptive in-flight limit is reached. It runs before the security chain,
+ * so shed requests cost neither a token check nor a connection.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final List<String> lowPriorityPaths;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, List<String> lowPriorityPaths) {
+        this.limiter = limiter;
+        this.lowPriorityPaths = List.copyOf(lowPriorityPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var priority = priority(request);
+        if (!limiter.tryAcquire(priority)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+
+        var start = System.nanoTime();
+        var dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = false;
+        } finally {
+            limiter.release(priority, System.nanoTime() - start, dropped);
+        }
+    }
+
+    Priority priority(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        for (var prefix : lowPriorityPaths) {
+            if (path.startsWith(prefix)) {
+                return Priority.LOW;
+            }
+        }
+        return Priority.NORMAL;
+    }
+}
@@ -0,0 +1,87 @@
+package hexlet.code.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket in its GCRA form: every key only stores the theoretical arrival time of its next request, so a
+ * bucket is a single long updated with compare-and-set. Buckets are kept per exact key, so unrelated callers
+ * never share a budget. A bucket whose arrival time has passed is indistinguishable from a new one, which lets
+ * the limiter drop idle buckets once it tracks {@code maxKeys} of them. If every tracked bucket is still busy,
+ * new keys are let through untracked and counted rather than throttled together.
+ */
+public class GcraRateLimiter {
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final int maxKeys;
+
+    private final long origin = System.nanoTime();
+
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    private final LongAdder untracked = new LongAdder();
+
+    private long nextSweep = Long.MIN_VALUE;
+
+    public GcraRateLimiter(double requestsPerSecond, int burst, int maxKeys) {
+        if (requestsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Rate, burst and key limit must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes a token for the key and returns 0, or returns how many nanoseconds to wait when the bucket is empty.
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime() - origin);
+    }
+
+    long tryAcquire(String key, long now) {
+        var bucket = arrivals.get(key);
+        if (bucket == null) {
+            if (arrivals.size() >= maxKeys && !evictIdle(now)) {
+                untracked.increment();
+                return 0;
+            }
+            bucket = arrivals.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        while (true) {
+            var arrival = bucket.get();
+            var next = Math.max(arrival, now) + intervalNanos;
+            var allowedAt = next - toleranceNanos;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int getTrackedKeys() {
+        return arrivals.size();
+    }
+
+    /**
+     * Requests from new keys that were let through because every tracked bucket was still busy.
+     */
+    public long getUntracked() {
+        return untracked.sum();
+    }
+
+    // sweeps at most once per refill period, so a flood of new keys cannot turn every request into a full scan
+    private synchronized boolean evictIdle(long now) {
+        if (now >= nextSweep) {
+            nextSweep = now + toleranceNanos;
+            arrivals.values().removeIf(bucket -> bucket.get() <= now);
+        }
+        return arrivals.size() < maxKeys;
+    }
+}
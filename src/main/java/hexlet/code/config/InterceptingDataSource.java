@@ -0,0 +1,114 @@
+package hexlet.code.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs every statement created on its connections through a chain of {@link StatementInterceptor}s, in the
+ * order they were added. Wrapping it again adds to the chain, so all interceptors share one proxy per
+ * connection and statement however many features install one.
+ */
+public final class InterceptingDataSource extends DelegatingDataSource {
+
+    private final List<StatementInterceptor> interceptors;
+
+    private InterceptingDataSource(DataSource targetDataSource, List<StatementInterceptor> interceptors) {
+        super(targetDataSource);
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Returns the data source with the interceptor added. An interceptor of a class that is already in the chain
+     * is not added twice.
+     */
+    public static DataSource wrap(DataSource dataSource, StatementInterceptor interceptor) {
+        if (!(dataSource instanceof InterceptingDataSource intercepting)) {
+            return new InterceptingDataSource(dataSource, List.of(interceptor));
+        }
+        for (var existing : intercepting.interceptors) {
+            if (existing.getClass() == interceptor.getClass()) {
+                return dataSource;
+            }
+        }
+        var interceptors = new ArrayList<>(intercepting.interceptors);
+        interceptors.add(interceptor);
+        return new InterceptingDataSource(intercepting.obtainTargetDataSource(), List.copyOf(interceptors));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    var result = invoke(connection, method, args);
+                    var type = method.getReturnType();
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(type)) {
+                        var sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                                new StatementHandler(statement, sql));
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private final String preparedSql;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var name = method.getName();
+            if (name.startsWith("execute")) {
+                var sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                return execute(0, sql, method, args);
+            }
+            if (name.equals("close")) {
+                for (var interceptor : interceptors) {
+                    interceptor.closed(statement);
+                }
+            }
+            return InterceptingDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(int position, String sql, Method method, Object[] args) throws Throwable {
+            if (position == interceptors.size()) {
+                return InterceptingDataSource.invoke(statement, method, args);
+            }
+            return interceptors.get(position).execute(statement, sql, method.getName(),
+                    () -> execute(position + 1, sql, method, args));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hexlet.code.config;
+
+import hexlet.code.component.JfrProperties;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.jfr", name = "enabled", havingValue = "true")
+public class JfrConfig {
+
+    private static final String SERVICE_PACKAGE = "hexlet.code.service";
+
+    private static final String MAPPER_PACKAGE = "hexlet.code.mapper";
+
+    @Bean
+    static BeanPostProcessor jfrInstrumentationPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return InterceptingDataSource.wrap(dataSource, new JfrStatementInterceptor());
+                }
+                if (bean instanceof JwtDecoder jwtDecoder && !(bean instanceof JfrJwtDecoder)) {
+                    return new JfrJwtDecoder(jwtDecoder);
+                }
+                if (bean instanceof PasswordEncoder passwordEncoder && !(bean instanceof JfrPasswordEncoder)) {
+                    return new JfrPasswordEncoder(passwordEncoder);
+                }
+                var targetClass = AopUtils.getTargetClass(bean);
+                var packageName = targetClass.getPackageName();
+                if (packageName.equals(SERVICE_PACKAGE) || packageName.equals(MAPPER_PACKAGE)) {
+                    return instrument(bean, targetClass, packageName.equals(MAPPER_PACKAGE));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrProperties properties) {
+        return new JfrEndpoint(properties);
+    }
+
+    private static Object instrument(Object bean, Class<?> targetClass, boolean mapper) {
+        var interceptor = new JfrMethodInterceptor(targetClass, mapper);
+        // transactional services already are proxies, go first so the event covers the transaction too
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        var proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+}
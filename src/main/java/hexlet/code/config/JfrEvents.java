@@ -0,0 +1,135 @@
+package hexlet.code.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Flight recorder events for the request path. Stack traces are off, the event name and fields say where it
+ * happened, which keeps committing an event cheap enough to leave the instrumentation on.
+ */
+public final class JfrEvents {
+
+    private static final String CATEGORY = "Task Manager";
+
+    public static final List<Class<? extends Event>> ALL = List.of(ServiceCall.class, MapperConversion.class,
+            JwtDecode.class, PasswordCheck.class, SqlExecution.class);
+
+    private JfrEvents() {
+    }
+
+    @Name("hexlet.ServiceCall")
+    @Label("Service Call")
+    @Category({CATEGORY, "Service"})
+    @StackTrace(false)
+    public static class ServiceCall extends Event {
+        @Label("Class")
+        private String type;
+
+        @Label("Method")
+        private String method;
+
+        @Label("Failed")
+        private boolean failed;
+
+        void finish(String callType, String callMethod, boolean callFailed) {
+            end();
+            if (shouldCommit()) {
+                type = callType;
+                method = callMethod;
+                failed = callFailed;
+                commit();
+            }
+        }
+    }
+
+    @Name("hexlet.MapperConversion")
+    @Label("Mapper Conversion")
+    @Category({CATEGORY, "Mapper"})
+    @StackTrace(false)
+    public static class MapperConversion extends Event {
+        @Label("Class")
+        private String type;
+
+        @Label("Method")
+        private String method;
+
+        @Label("Failed")
+        private boolean failed;
+
+        void finish(String callType, String callMethod, boolean callFailed) {
+            end();
+            if (shouldCommit()) {
+                type = callType;
+                method = callMethod;
+                failed = callFailed;
+                commit();
+            }
+        }
+    }
+
+    @Name("hexlet.JwtDecode")
+    @Label("JWT Decode")
+    @Category({CATEGORY, "Security"})
+    @StackTrace(false)
+    public static class JwtDecode extends Event {
+        @Label("Valid")
+        private boolean valid;
+
+        void finish(boolean decoded) {
+            end();
+            if (shouldCommit()) {
+                valid = decoded;
+                commit();
+            }
+        }
+    }
+
+    @Name("hexlet.PasswordCheck")
+    @Label("Password Check")
+    @Description("BCrypt comparison of a raw password against the stored hash")
+    @Category({CATEGORY, "Security"})
+    @StackTrace(false)
+    public static class PasswordCheck extends Event {
+        @Label("Matched")
+        private boolean matched;
+
+        void finish(boolean passwordMatched) {
+            end();
+            if (shouldCommit()) {
+                matched = passwordMatched;
+                commit();
+            }
+        }
+    }
+
+    @Name("hexlet.SqlExecution")
+    @Label("SQL Execution")
+    @Category({CATEGORY, "JDBC"})
+    @StackTrace(false)
+    public static class SqlExecution extends Event {
+        @Label("SQL")
+        private String sql;
+
+        @Label("Method")
+        private String method;
+
+        @Label("Failed")
+        private boolean failed;
+
+        void finish(String statementSql, String statementMethod, boolean statementFailed) {
+            end();
+            if (shouldCommit()) {
+                sql = statementSql;
+                method = statementMethod;
+                failed = statementFailed;
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package hexlet.code.config;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+public class JfrJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    public JfrJwtDecoder(JwtDecoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Jwt decode(String token) {
+        var event = new JfrEvents.JwtDecode();
+        event.begin();
+        var valid = false;
+        try {
+            var jwt = delegate.decode(token);
+            valid = true;
+            return jwt;
+        } finally {
+            event.finish(valid);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hexlet.code.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Wraps service and mapper calls into {@link JfrEvents.ServiceCall} and {@link JfrEvents.MapperConversion}
+ * events. Placed first in the advice chain, so a service call includes its transaction.
+ */
+public class JfrMethodInterceptor implements MethodInterceptor {
+
+    private final boolean mapper;
+
+    private final String type;
+
+    public JfrMethodInterceptor(Class<?> targetClass, boolean mapper) {
+        this.mapper = mapper;
+        this.type = targetClass.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        return mapper ? convert(invocation) : call(invocation);
+    }
+
+    private Object call(MethodInvocation invocation) throws Throwable {
+        var event = new JfrEvents.ServiceCall();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        var failed = true;
+        event.begin();
+        try {
+            var result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.finish(type, invocation.getMethod().getName(), failed);
+        }
+    }
+
+    private Object convert(MethodInvocation invocation) throws Throwable {
+        var event = new JfrEvents.MapperConversion();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        var failed = true;
+        event.begin();
+        try {
+            var result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.finish(type, invocation.getMethod().getName(), failed);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package hexlet.code.config;
+
+import java.sql.Statement;
+
+/**
+ * Emits a {@link JfrEvents.SqlExecution} event around every statement execution.
+ */
+public class JfrStatementInterceptor implements StatementInterceptor {
+
+    @Override
+    public Object execute(Statement statement, String sql, String method, Execution execution) throws Throwable {
+        var event = new JfrEvents.SqlExecution();
+        if (!event.isEnabled()) {
+            return execution.proceed();
+        }
+        var failed = true;
+        event.begin();
+        try {
+            var result = execution.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.finish(sql, method, failed);
+        }
+    }
+}
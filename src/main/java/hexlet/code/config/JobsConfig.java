@@ -0,0 +1,15 @@
+package hexlet.code.config;
+
+import hexlet.code.component.JobProperties;
+import hexlet.code.repository.JobLeaseRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JobsConfig {
+
+    @Bean
+    public JobsEndpoint jobsEndpoint(JobLeaseRepository jobLeaseRepository, JobProperties jobProperties) {
+        return new JobsEndpoint(jobLeaseRepository, jobProperties);
+    }
+}
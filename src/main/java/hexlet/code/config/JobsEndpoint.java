@@ -0,0 +1,31 @@
+package hexlet.code.config;
+
+import hexlet.code.component.JobProperties;
+import hexlet.code.dto.JobStatusDTO;
+import hexlet.code.repository.JobLeaseRepository;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+@Endpoint(id = "jobs")
+public class JobsEndpoint {
+
+    private final JobLeaseRepository jobLeaseRepository;
+
+    private final JobProperties jobProperties;
+
+    public JobsEndpoint(JobLeaseRepository jobLeaseRepository, JobProperties jobProperties) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.jobProperties = jobProperties;
+    }
+
+    @ReadOperation
+    public List<JobStatusDTO> jobs() {
+        var jobs = jobLeaseRepository.findLeases();
+        for (var job : jobs) {
+            job.setRuns(jobLeaseRepository.findRuns(job.getName(), jobProperties.getHistorySize()));
+        }
+        return jobs;
+    }
+}
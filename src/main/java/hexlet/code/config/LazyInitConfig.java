@@ -0,0 +1,37 @@
+package hexlet.code.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Narrows {@code spring.main.lazy-initialization} down to the packages listed in {@code app.lazy-init.packages},
+ * so rarely used beans such as springdoc are built on first use while everything else is still created and
+ * checked at startup. With an empty list the global flag applies to every bean.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    // static: filters are looked up by a bean factory post-processor, before this configuration is instantiated
+    @Bean
+    static LazyInitializationExcludeFilter eagerOutsideLazyPackages(Environment environment) {
+        var packages = Binder.get(environment)
+                .bind("app.lazy-init.packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return (beanName, beanDefinition, beanType) -> {
+            if (packages.isEmpty()) {
+                return false;
+            }
+            if (beanType == null) {
+                return true;
+            }
+            var name = beanType.getName();
+            return packages.stream().noneMatch(name::startsWith);
+        };
+    }
+}
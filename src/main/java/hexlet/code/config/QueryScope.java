@@ -0,0 +1,74 @@
+package hexlet.code.config;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Query settings of the request being served on the current thread. {@link QueryTimeoutFilter} opens it and
+ * {@link QueryTimeoutInterceptor} applies it to every statement the request executes.
+ */
+final class QueryScope {
+
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    private final int timeoutSeconds;
+
+    private final Set<Statement> openStatements = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cancelled;
+
+    private QueryScope(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    static QueryScope open(int timeoutSeconds) {
+        var scope = new QueryScope(timeoutSeconds);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static QueryScope current() {
+        return CURRENT.get();
+    }
+
+    void close() {
+        CURRENT.remove();
+    }
+
+    int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void register(Statement statement) {
+        openStatements.add(statement);
+    }
+
+    void unregister(Statement statement) {
+        openStatements.remove(statement);
+    }
+
+    /**
+     * Cancels the statements that are still open, including cursors that are being streamed, and makes every
+     * later statement of the request fail. Returns the number of statements cancelled.
+     */
+    int cancel() {
+        cancelled = true;
+        var count = 0;
+        for (var statement : openStatements) {
+            try {
+                statement.cancel();
+                count++;
+            } catch (SQLException ex) {
+                // the statement is closed or finished in the meantime, nothing left to stop
+            }
+        }
+        openStatements.clear();
+        return count;
+    }
+}
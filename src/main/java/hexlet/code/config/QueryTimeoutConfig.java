@@ -0,0 +1,59 @@
+package hexlet.code.config;
+
+import hexlet.code.component.QueryTimeoutProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-timeout", name = "enabled", havingValue = "true")
+public class QueryTimeoutConfig {
+
+    // static: post-processors are created before regular beans, the registry is only looked up on wrapping
+    @Bean
+    static BeanPostProcessor queryTimeoutDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                var registry = meterRegistry.getObject();
+                return InterceptingDataSource.wrap(dataSource,
+                        new QueryTimeoutInterceptor(timeouts(registry), cancelled(registry, "refused")));
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryTimeoutFilter> queryTimeoutFilter(QueryTimeoutProperties properties,
+                                                                         MeterRegistry meterRegistry) {
+        var filter = new QueryTimeoutFilter(properties.getDefaultTimeout(), properties.getEndpoints(),
+                cancelled(meterRegistry, "client_disconnect"));
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    private static Counter timeouts(MeterRegistry registry) {
+        return Counter.builder("db.statement.timeouts")
+                .description("Statements stopped by the per-endpoint query timeout")
+                .register(registry);
+    }
+
+    private static Counter cancelled(MeterRegistry registry, String reason) {
+        return Counter.builder("db.statement.cancelled")
+                .description("Statements cancelled or refused because the client disconnected")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,143 @@
+package hexlet.code.config;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Opens a {@link QueryScope} with the statement timeout configured for the request path. The servlet API only
+ * reports a client that has gone away when a write to it fails, so that is when the scope is cancelled: an open
+ * cursor stops streaming right away instead of being drained, and later statements of the request are refused.
+ */
+public class QueryTimeoutFilter extends OncePerRequestFilter {
+
+    private final Duration defaultTimeout;
+
+    private final Map<String, Duration> endpointTimeouts;
+
+    private final Counter cancelled;
+
+    public QueryTimeoutFilter(Duration defaultTimeout, Map<String, Duration> endpointTimeouts, Counter cancelled) {
+        this.defaultTimeout = defaultTimeout;
+        this.endpointTimeouts = endpointTimeouts;
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var scope = QueryScope.open(timeoutSeconds(request));
+        try {
+            filterChain.doFilter(request, new DisconnectAwareResponse(response, scope));
+        } finally {
+            scope.close();
+        }
+    }
+
+    int timeoutSeconds(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        var timeout = defaultTimeout;
+        var matched = -1;
+        for (var endpoint : endpointTimeouts.entrySet()) {
+            if (path.startsWith(endpoint.getKey()) && endpoint.getKey().length() > matched) {
+                timeout = endpoint.getValue();
+                matched = endpoint.getKey().length();
+            }
+        }
+        // JDBC timeouts are whole seconds, round up so a short timeout does not turn into none
+        return (int) Math.min(Integer.MAX_VALUE, (timeout.toMillis() + 999) / 1000);
+    }
+
+    private void disconnected(QueryScope scope) {
+        if (!scope.isCancelled()) {
+            cancelled.increment(scope.cancel());
+        }
+    }
+
+    private final class DisconnectAwareResponse extends HttpServletResponseWrapper {
+
+        private final QueryScope scope;
+
+        private ServletOutputStream outputStream;
+
+        DisconnectAwareResponse(HttpServletResponse response, QueryScope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DisconnectAwareOutputStream(super.getOutputStream(), scope);
+            }
+            return outputStream;
+        }
+    }
+
+    private final class DisconnectAwareOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private final QueryScope scope;
+
+        DisconnectAwareOutputStream(ServletOutputStream delegate, QueryScope scope) {
+            this.delegate = delegate;
+            this.scope = scope;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                delegate.write(b);
+            } catch (IOException ex) {
+                disconnected(scope);
+                throw ex;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                delegate.write(b, off, len);
+            } catch (IOException ex) {
+                disconnected(scope);
+                throw ex;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                delegate.flush();
+            } catch (IOException ex) {
+                disconnected(scope);
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
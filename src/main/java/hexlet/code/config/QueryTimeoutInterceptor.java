@@ -0,0 +1,62 @@
+package hexlet.code.config;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * Applies the timeout of the current {@link QueryScope} to every statement right before it executes, and keeps
+ * the statement registered with the scope until it is closed so a disconnect can cancel it. Statements executed
+ * outside a request, such as scheduled jobs and imports, are left alone.
+ */
+public class QueryTimeoutInterceptor implements StatementInterceptor {
+
+    // SQLSTATE used by PostgreSQL and H2 for a statement stopped by a timeout or a cancel request
+    static final String QUERY_CANCELED = "57014";
+
+    private final Counter timeouts;
+
+    private final Counter refused;
+
+    public QueryTimeoutInterceptor(Counter timeouts, Counter refused) {
+        this.timeouts = timeouts;
+        this.refused = refused;
+    }
+
+    @Override
+    public Object execute(Statement statement, String sql, String method, Execution execution) throws Throwable {
+        var current = QueryScope.current();
+        if (current == null) {
+            return execution.proceed();
+        }
+        if (current.isCancelled()) {
+            refused.increment();
+            throw new SQLException("Statement not executed, the client has disconnected", QUERY_CANCELED);
+        }
+        var timeout = current.getTimeoutSeconds();
+        if (timeout > 0 && (statement.getQueryTimeout() == 0 || statement.getQueryTimeout() > timeout)) {
+            statement.setQueryTimeout(timeout);
+        }
+        current.register(statement);
+        try {
+            return execution.proceed();
+        } catch (SQLException ex) {
+            if (!current.isCancelled()
+                    && (ex instanceof SQLTimeoutException || QUERY_CANCELED.equals(ex.getSQLState()))) {
+                timeouts.increment();
+            }
+            throw ex;
+        }
+    }
+
+    // statements are closed by the request that executed them, so the scope is still the current one
+    @Override
+    public void closed(Statement statement) {
+        var current = QueryScope.current();
+        if (current != null) {
+            current.unregister(statement);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package hexlet.code.config;
+
+import hexlet.code.component.RateLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        var user = properties.getUser();
+        var ip = properties.getIp();
+        var userLimiter = new GcraRateLimiter(user.getRequestsPerSecond(), user.getBurst(), properties.getMaxKeys());
+        var ipLimiter = new GcraRateLimiter(ip.getRequestsPerSecond(), ip.getBurst(), properties.getMaxKeys());
+        register(meterRegistry, "user", userLimiter);
+        register(meterRegistry, "ip", ipLimiter);
+        var filter = new RateLimitFilter(userLimiter, ipLimiter, meterRegistry);
+
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    private static void register(MeterRegistry meterRegistry, String bucket, GcraRateLimiter limiter) {
+        Gauge.builder("http.server.rate_limit.keys", limiter, GcraRateLimiter::getTrackedKeys)
+                .tag("bucket", bucket)
+                .register(meterRegistry);
+        FunctionCounter.builder("http.server.rate_limit.untracked", limiter, GcraRateLimiter::getUntracked)
+                .tag("bucket", bucket)
+                .register(meterRegistry);
+    }
+}
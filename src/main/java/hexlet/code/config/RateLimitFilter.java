@@ -0,0 +1,72 @@
+package hexlet.code.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs after the security chain, so authenticated requests are limited per user and the rest per remote address.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final GcraRateLimiter userLimiter;
+
+    private final GcraRateLimiter ipLimiter;
+
+    private final Counter userAllowed;
+    private final Counter userRejected;
+    private final Counter ipAllowed;
+    private final Counter ipRejected;
+
+    public RateLimitFilter(GcraRateLimiter userLimiter, GcraRateLimiter ipLimiter, MeterRegistry meterRegistry) {
+        this.userLimiter = userLimiter;
+        this.ipLimiter = ipLimiter;
+        this.userAllowed = counter(meterRegistry, "user", "allowed");
+        this.userRejected = counter(meterRegistry, "user", "rejected");
+        this.ipAllowed = counter(meterRegistry, "ip", "allowed");
+        this.ipRejected = counter(meterRegistry, "ip", "rejected");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        long waitNanos;
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            waitNanos = userLimiter.tryAcquire(authentication.getName());
+            (waitNanos == 0 ? userAllowed : userRejected).increment();
+        } else {
+            waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+            (waitNanos == 0 ? ipAllowed : ipRejected).increment();
+        }
+
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf((waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String bucket, String outcome) {
+        return Counter.builder("http.server.rate_limit")
+                .description("Requests checked against the rate limits")
+                .tag("bucket", bucket)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
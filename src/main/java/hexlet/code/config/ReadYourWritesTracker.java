@@ -0,0 +1,66 @@
+package hexlet.code.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+
+    private final int maxClients;
+
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window, int maxClients) {
+        this.windowNanos = window.toNanos();
+        this.maxClients = maxClients;
+    }
+
+    public void recordWrite() {
+        var client = currentClient();
+        if (client == null || windowNanos <= 0) {
+            return;
+        }
+        var now = System.nanoTime();
+        if (stickyUntil.size() >= maxClients) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+            if (stickyUntil.size() >= maxClients) {
+                return;
+            }
+        }
+        stickyUntil.put(client, now + windowNanos);
+    }
+
+    public boolean isSticky() {
+        var client = currentClient();
+        if (client == null) {
+            return false;
+        }
+        var until = stickyUntil.get(client);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(client, until);
+        return false;
+    }
+
+    private static String currentClient() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "ip:" + attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
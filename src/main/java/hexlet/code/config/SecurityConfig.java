@@ -38,6 +38,16 @@ public class SecurityConfig {
     @Autowired
     private final CustomUserDetailsService userDetailsService;
 
+    public static final String ADMIN_SCOPE = "admin";
+
+    // recordings, job state and limiter internals are operational data, not something any signed-up user may read
+    public static final RequestMatcher ADMIN_URLS = new OrRequestMatcher(
+            new AntPathRequestMatcher("/actuator/jfr/**"),
+            new AntPathRequestMatcher("/actuator/jobs/**"),
+            new AntPathRequestMatcher("/actuator/concurrency/**"),
+            new AntPathRequestMatcher("/actuator/metrics/**")
+    );
+
     public static final RequestMatcher PUBLIC_URLS = new OrRequestMatcher(
             new AntPathRequestMatcher("/api/login/**"),
             new AntPathRequestMatcher("/api/login/"),
@@ -51,7 +61,9 @@ public class SecurityConfig {
             new AntPathRequestMatcher("/index.html"),
             new AntPathRequestMatcher("/api-docs/**"),
             new AntPathRequestMatcher("/proxy/**"),
-            new AntPathRequestMatcher("/assets/**")
+            new AntPathRequestMatcher("/assets/**"),
+            new AntPathRequestMatcher("/actuator/health/liveness"),
+            new AntPathRequestMatcher("/actuator/health/readiness")
     );
 
     @Bean
@@ -65,6 +77,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
                         .requestMatchers(PUBLIC_URLS).permitAll()
+                        .requestMatchers(ADMIN_URLS).hasAuthority("SCOPE_" + ADMIN_SCOPE)
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer((rs) -> rs.jwt((jwt) -> jwt.decoder(jwtDecoder)))
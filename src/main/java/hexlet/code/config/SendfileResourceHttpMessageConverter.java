@@ -0,0 +1,53 @@
+package hexlet.code.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+/**
+ * Hands file-backed resources to Tomcat's sendfile support, so the container transfers them straight from the
+ * file to the socket. Tomcat picks the attributes up when the response is committed, which the converter does
+ * right after this method. Resources inside a jar, small files and containers without sendfile are copied as usual.
+ */
+public class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final long minSize;
+
+    public SendfileResourceHttpMessageConverter(long minSize) {
+        super(false);
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException {
+        if (!sendfile(resource)) {
+            super.writeContent(resource, outputMessage);
+        }
+    }
+
+    private boolean sendfile(Resource resource) throws IOException {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || !Boolean.TRUE.equals(attributes.getRequest().getAttribute(SENDFILE_SUPPORT))
+                || !resource.isFile()) {
+            return false;
+        }
+        var length = resource.contentLength();
+        if (length < minSize) {
+            return false;
+        }
+        var request = attributes.getRequest();
+        request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+        request.setAttribute(SENDFILE_START, 0L);
+        request.setAttribute(SENDFILE_END, length);
+        return true;
+    }
+}
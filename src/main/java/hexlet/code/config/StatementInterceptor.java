@@ -0,0 +1,24 @@
+package hexlet.code.config;
+
+import java.sql.Statement;
+
+/**
+ * Hook around the statements of an {@link InterceptingDataSource}.
+ */
+public interface StatementInterceptor {
+
+    /**
+     * Runs one {@code execute*} call of the statement. Implementations call {@code execution.proceed()} once,
+     * unless they refuse the statement by throwing. {@code sql} is the SQL passed to execute, or the SQL the
+     * statement was prepared with.
+     */
+    Object execute(Statement statement, String sql, String method, Execution execution) throws Throwable;
+
+    default void closed(Statement statement) {
+    }
+
+    @FunctionalInterface
+    interface Execution {
+        Object proceed() throws Throwable;
+    }
+}
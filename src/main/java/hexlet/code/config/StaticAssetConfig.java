@@ -0,0 +1,42 @@
+package hexlet.code.config;
+
+import hexlet.code.component.StaticAssetProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the fingerprinted SPA bundle under /assets. A new build changes the file names, so the files are cached
+ * as immutable for a year; the .br and .gz variants generated at build time are picked by Accept-Encoding.
+ * index.html stays with Boot's default handler and is revalidated on every load.
+ */
+@Configuration
+public class StaticAssetConfig {
+
+    @Bean
+    public ResourceHttpRequestHandler assetsRequestHandler(StaticAssetProperties properties,
+                                                           ResourceLoader resourceLoader) {
+        var handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(resourceLoader.getResource(properties.getLocation())));
+        handler.setResourceResolvers(List.of(new EncodedResourceResolver(), new PathResourceResolver()));
+        handler.setCacheControl(CacheControl.maxAge(properties.getMaxAge()).cachePublic().immutable());
+        handler.setResourceHttpMessageConverter(
+                new SendfileResourceHttpMessageConverter(properties.getMinSendfileSize().toBytes()));
+        return handler;
+    }
+
+    @Bean
+    public SimpleUrlHandlerMapping assetsHandlerMapping(ResourceHttpRequestHandler assetsRequestHandler) {
+        // ahead of Boot's catch-all static resource mapping
+        return new SimpleUrlHandlerMapping(Map.of("/assets/**", assetsRequestHandler), Ordered.LOWEST_PRECEDENCE - 2);
+    }
+}
@@ -0,0 +1,156 @@
+package hexlet.code.config;
+
+import hexlet.code.component.TraceSamplingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.sentry.Hint;
+import io.sentry.SamplingContext;
+import io.sentry.SentryOptions;
+import io.sentry.SpanStatus;
+import io.sentry.protocol.SentryTransaction;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tail sampling for Sentry transactions. Requests are traced at the head, apart from ignored paths, and the decision
+ * to send is taken once the transaction has finished: errors and slow transactions are always kept, the rest is
+ * sampled at the rate configured for its path and capped by a shared {@link GcraRateLimiter}.
+ */
+public class TraceSampler implements SentryOptions.TracesSamplerCallback,
+        SentryOptions.BeforeSendTransactionCallback {
+
+    private static final String SAMPLED_KEY = "sampled";
+
+    public enum Decision {
+        ERROR(true),
+        SLOW(true),
+        SAMPLED(true),
+        CAPPED(false),
+        DROPPED(false);
+
+        private final boolean kept;
+
+        Decision(boolean kept) {
+            this.kept = kept;
+        }
+
+        public boolean isKept() {
+            return kept;
+        }
+    }
+
+    private final double defaultRate;
+
+    private final Map<String, Double> rates;
+
+    private final Duration slowThreshold;
+
+    private final Map<String, Duration> slowThresholds;
+
+    private final List<String> ignoredPaths;
+
+    private final GcraRateLimiter limiter;
+
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+
+    private final Counter ignored;
+
+    public TraceSampler(TraceSamplingProperties properties, GcraRateLimiter limiter, MeterRegistry meterRegistry) {
+        this.defaultRate = properties.getDefaultRate();
+        this.rates = properties.getRates();
+        this.slowThreshold = properties.getSlowThreshold();
+        this.slowThresholds = properties.getSlowThresholds();
+        this.ignoredPaths = properties.getIgnoredPaths();
+        this.limiter = limiter;
+        for (var decision : Decision.values()) {
+            decisions.put(decision, counter(meterRegistry, decision.name().toLowerCase()));
+        }
+        this.ignored = counter(meterRegistry, "ignored");
+    }
+
+    @Override
+    public Double sample(SamplingContext context) {
+        var custom = context.getCustomSamplingContext();
+        if (custom != null && custom.get("request") instanceof HttpServletRequest request) {
+            var path = request.getRequestURI().substring(request.getContextPath().length());
+            for (var prefix : ignoredPaths) {
+                if (path.startsWith(prefix)) {
+                    ignored.increment();
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    @Override
+    public SentryTransaction execute(SentryTransaction transaction, Hint hint) {
+        var start = transaction.getStartTimestamp();
+        var end = transaction.getTimestamp();
+        var duration = start == null || end == null ? 0 : end - start;
+        var trace = transaction.getContexts().getTrace();
+        var status = trace == null ? null : trace.getStatus();
+        var decision = decide(path(transaction.getTransaction()), duration, isError(status),
+                ThreadLocalRandom.current().nextDouble());
+        return decision.isKept() ? transaction : null;
+    }
+
+    Decision decide(String path, double durationSeconds, boolean error, double random) {
+        Decision decision;
+        if (error) {
+            decision = Decision.ERROR;
+        } else if (durationSeconds * 1000 >= longestMatch(slowThresholds, path, slowThreshold).toMillis()) {
+            decision = Decision.SLOW;
+        } else if (random >= longestMatch(rates, path, defaultRate)) {
+            decision = Decision.DROPPED;
+        } else if (limiter.tryAcquire(SAMPLED_KEY) > 0) {
+            decision = Decision.CAPPED;
+        } else {
+            decision = Decision.SAMPLED;
+        }
+        decisions.get(decision).increment();
+        return decision;
+    }
+
+    private static boolean isError(SpanStatus status) {
+        if (status == null) {
+            return false;
+        }
+        return switch (status) {
+            case INTERNAL_ERROR, UNKNOWN, UNKNOWN_ERROR, UNAVAILABLE, DEADLINE_EXCEEDED, DATA_LOSS, ABORTED -> true;
+            default -> false;
+        };
+    }
+
+    // transactions are named after the route, e.g. "GET /api/tasks/{id}"
+    private static String path(String name) {
+        if (name == null) {
+            return "";
+        }
+        var space = name.indexOf(' ');
+        return space < 0 ? name : name.substring(space + 1);
+    }
+
+    private static <T> T longestMatch(Map<String, T> values, String path, T fallback) {
+        var value = fallback;
+        var matched = -1;
+        for (var entry : values.entrySet()) {
+            if (path.startsWith(entry.getKey()) && entry.getKey().length() > matched) {
+                value = entry.getValue();
+                matched = entry.getKey().length();
+            }
+        }
+        return value;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("tracing.sampler.decisions")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+}
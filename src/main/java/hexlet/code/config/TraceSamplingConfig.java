@@ -0,0 +1,19 @@
+package hexlet.code.config;
+
+import hexlet.code.component.TraceSamplingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.trace-sampling", name = "enabled", havingValue = "true")
+public class TraceSamplingConfig {
+
+    // the Sentry auto-configuration picks this up both as traces sampler and as before-send-transaction callback
+    @Bean
+    public TraceSampler traceSampler(TraceSamplingProperties properties, MeterRegistry meterRegistry) {
+        var limiter = new GcraRateLimiter(properties.getMaxPerSecond(), properties.getBurst(), 1);
+        return new TraceSampler(properties, limiter, meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package hexlet.code.config;
+
+/**
+ * Workload class of the work running on the current thread. Requests get one from {@link BulkheadFilter};
+ * background work that should count against a budget declares it with {@link #runAs}.
+ */
+public enum WorkloadClass {
+    INTERACTIVE,
+    BULK,
+    AUTH;
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    public static WorkloadClass current() {
+        return CURRENT.get();
+    }
+
+    public static void runAs(WorkloadClass workload, Runnable action) {
+        var previous = set(workload);
+        try {
+            action.run();
+        } finally {
+            set(previous);
+        }
+    }
+
+    static WorkloadClass set(WorkloadClass workload) {
+        var previous = CURRENT.get();
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+        return previous;
+    }
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
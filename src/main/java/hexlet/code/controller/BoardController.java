@@ -0,0 +1,27 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.BoardDTO;
+import hexlet.code.service.BoardService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/board")
+@AllArgsConstructor
+public class BoardController {
+
+    @Autowired
+    private BoardService boardService;
+
+    @GetMapping(path = "")
+    @ResponseStatus(HttpStatus.OK)
+    public BoardDTO show(@RequestParam(defaultValue = "20") int limit) {
+        return boardService.getBoard(limit);
+    }
+}
@@ -0,0 +1,64 @@
+package hexlet.code.controller;
+
+import hexlet.code.component.IdempotencyStore;
+import hexlet.code.dto.ImportJobDTO;
+import hexlet.code.dto.TaskExportFormat;
+import hexlet.code.service.TaskImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/imports")
+@AllArgsConstructor
+public class ImportController {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @PostMapping(path = "")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobDTO create(@RequestParam(defaultValue = "ndjson") String format,
+                               @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var importFormat = TaskExportFormat.of(format);
+        var upload = taskImportService.spool(importFormat, request.getInputStream(), request.getContentLengthLong());
+        if (idempotencyKey == null) {
+            return taskImportService.submit(upload);
+        }
+        try {
+            var result = idempotencyStore.execute("imports", idempotencyKey,
+                    List.of(importFormat, upload.digest()), () -> taskImportService.submit(upload));
+            if (result.replayed()) {
+                taskImportService.discard(upload);
+                response.setHeader(IdempotencyStore.REPLAYED_HEADER, "true");
+            }
+            return result.value();
+        } catch (RuntimeException ex) {
+            taskImportService.discard(upload);
+            throw ex;
+        }
+    }
+
+    @GetMapping(path = "/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ImportJobDTO show(@PathVariable String id) {
+        return taskImportService.findById(id);
+    }
+}
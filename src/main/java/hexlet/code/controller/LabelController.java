@@ -1,6 +1,7 @@
 package hexlet.code.controller;
 
 import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelUpdateDTO;
 import hexlet.code.service.LabelService;
@@ -39,6 +40,12 @@ public class LabelController {
                 .body(tasks);
     }
 
+    @GetMapping(path = "/task-counts")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskCountDTO> taskCounts() {
+        return labelService.getTaskCounts();
+    }
+
     @GetMapping(path = "/{id}")
     @ResponseStatus(HttpStatus.OK)
     public LabelDTO show(@PathVariable Long id) {
@@ -1,26 +1,36 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.IdempotencyStore;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskExportFormat;
 import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.dto.TaskMoveDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.service.TaskExportService;
+import hexlet.code.service.TaskListCoalescer;
 import hexlet.code.service.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -30,14 +40,44 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskListCoalescer taskListCoalescer;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @GetMapping(path = "")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<TaskDTO>> index(TaskFilterDTO taskFilterDTO) {
-        List<TaskDTO> tasks = taskService.getAll(taskFilterDTO);
-        return ResponseEntity
-                .ok()
-                .header("X-Total-Count", String.valueOf(tasks.size()))
-                .body(tasks);
+    public void index(TaskFilterDTO taskFilterDTO, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        var taskList = taskListCoalescer.isEnabled()
+                ? taskListCoalescer.list(taskFilterDTO)
+                : Optional.<TaskListCoalescer.TaskList>empty();
+        if (taskList.isPresent()) {
+            response.setHeader("X-Total-Count", String.valueOf(taskList.get().total()));
+            response.setContentLength(taskList.get().body().length);
+            response.getOutputStream().write(taskList.get().body());
+            return;
+        }
+        taskService.writeAll(taskFilterDTO,
+                total -> response.setHeader("X-Total-Count", String.valueOf(total)),
+                response.getOutputStream());
+    }
+
+    @GetMapping(path = "/export")
+    @ResponseStatus(HttpStatus.OK)
+    public void export(TaskFilterDTO taskFilterDTO, @RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        var exportFormat = TaskExportFormat.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"");
+        taskExportService.export(taskFilterDTO, exportFormat, response.getOutputStream());
     }
 
     @GetMapping(path = "/{id}")
@@ -48,8 +88,18 @@ public class TaskController {
 
     @PostMapping(path = "")
     @ResponseStatus(HttpStatus.CREATED)
-    public TaskDTO create(@Valid @RequestBody TaskCreateDTO taskCreateDTO) {
-        return taskService.create(taskCreateDTO);
+    public TaskDTO create(@Valid @RequestBody TaskCreateDTO taskCreateDTO,
+                          @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                          HttpServletResponse response) {
+        if (idempotencyKey == null) {
+            return taskService.create(taskCreateDTO);
+        }
+        var result = idempotencyStore.execute("tasks", idempotencyKey, taskCreateDTO,
+                () -> taskService.create(taskCreateDTO));
+        if (result.replayed()) {
+            response.setHeader(IdempotencyStore.REPLAYED_HEADER, "true");
+        }
+        return result.value();
     }
 
     @PutMapping(path = "/{id}")
@@ -58,6 +108,12 @@ public class TaskController {
         return taskService.update(taskUpdateDTO, id);
     }
 
+    @PostMapping(path = "/{id}/move")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskDTO move(@Valid @RequestBody TaskMoveDTO taskMoveDTO, @PathVariable Long id) {
+        return taskService.move(id, taskMoveDTO);
+    }
+
     @DeleteMapping(path = "/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
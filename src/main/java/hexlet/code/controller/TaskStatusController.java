@@ -1,5 +1,6 @@
 package hexlet.code.controller;
 
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
@@ -40,6 +41,12 @@ public class TaskStatusController {
                 .body(taskStatuses);
     }
 
+    @GetMapping(path = "/task-counts")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskCountDTO> taskCounts() {
+        return taskStatusService.getTaskCounts();
+    }
+
     @GetMapping(path = "/{id}")
     @ResponseStatus(HttpStatus.OK)
     public TaskStatusDTO show(@PathVariable Long id) {
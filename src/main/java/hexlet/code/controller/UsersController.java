@@ -1,10 +1,13 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.IdempotencyStore;
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.service.UserService;
 import hexlet.code.utils.UserUtils;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -34,6 +38,9 @@ public class UsersController {
     @Autowired
     private UserUtils userUtils;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @GetMapping(path = "/users")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<List<UserDTO>> index() {
@@ -43,10 +50,26 @@ public class UsersController {
                 .body(users);
     }
 
+    @GetMapping(path = "/users/task-counts")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskCountDTO> taskCounts() {
+        return userService.getTaskCounts();
+    }
+
     @PostMapping(path = "/users")
     @ResponseStatus(HttpStatus.CREATED)
-    public UserDTO create(@Valid @RequestBody UserCreateDTO userData) {
-        return userService.create(userData);
+    public UserDTO create(@Valid @RequestBody UserCreateDTO userData,
+                          @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                          HttpServletResponse response) {
+        if (idempotencyKey == null) {
+            return userService.create(userData);
+        }
+        var result = idempotencyStore.execute("users", idempotencyKey, userData,
+                () -> userService.create(userData));
+        if (result.replayed()) {
+            response.setHeader(IdempotencyStore.REPLAYED_HEADER, "true");
+        }
+        return result.value();
     }
 
 
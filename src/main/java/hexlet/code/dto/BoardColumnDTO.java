@@ -0,0 +1,18 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BoardColumnDTO {
+
+    private TaskStatusDTO status;
+
+    private long total;
+
+    private List<TaskDTO> tasks = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BoardDTO {
+
+    private List<BoardColumnDTO> columns = new ArrayList<>();
+
+    private List<UserDTO> users = new ArrayList<>();
+
+    private List<LabelDTO> labels = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class ImportJobDTO {
+
+    private String id;
+
+    private String state;
+
+    private String format;
+
+    private long processedRows;
+
+    private long importedRows;
+
+    private long failedRows;
+
+    private String message;
+
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+}
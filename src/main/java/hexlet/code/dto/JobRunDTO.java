@@ -0,0 +1,20 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class JobRunDTO {
+    private long id;
+    private String owner;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long durationMillis;
+    private String status;
+    private int chunks;
+    private long items;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class JobStatusDTO {
+    private String name;
+    private String owner;
+    private Instant leaseUntil;
+    private String checkpoint;
+    private List<JobRunDTO> runs = new ArrayList<>();
+}
@@ -0,0 +1,13 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskCountDTO {
+    private long id;
+    private long taskCount;
+}
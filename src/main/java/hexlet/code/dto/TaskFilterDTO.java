@@ -11,4 +11,5 @@ public class TaskFilterDTO {
     private Long assigneeId;
     private String status;
     private Long labelId;
+    private boolean includeArchived;
 }
@@ -0,0 +1,19 @@
+package hexlet.code.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TaskMoveDTO {
+
+    @NotBlank
+    private String status;
+
+    // id of the task the moved task is placed in front of
+    private Long before;
+
+    // id of the task the moved task is placed behind
+    private Long after;
+}
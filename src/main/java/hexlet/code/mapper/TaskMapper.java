@@ -4,6 +4,7 @@ import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.dto.TaskUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.ArchivedTask;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
@@ -18,6 +19,7 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -53,6 +55,20 @@ public abstract class TaskMapper {
     public abstract TaskDTO map(Task task);
 
 
+    @Mapping(source = "name", target = "title")
+    @Mapping(source = "description", target = "content")
+    @Mapping(source = "statusSlug", target = "status")
+    @Mapping(source = "labelIds", target = "taskLabelIds", qualifiedByName = "labelIdsStringToLabelIds")
+    public abstract TaskDTO map(ArchivedTask archivedTask);
+
+
+    @Mapping(source = "taskStatus.slug", target = "statusSlug")
+    @Mapping(source = "assignee.id", target = "assigneeId")
+    @Mapping(source = "statusChangedAt", target = "finishedAt")
+    @Mapping(source = "labels", target = "labelIds", qualifiedByName = "labelsToLabelIdsString")
+    public abstract ArchivedTask toArchived(Task task);
+
+
     @Mapping(source = "title", target = "name")
     @Mapping(source = "content", target = "description")
     @Mapping(source = "assigneeId", target = "assignee")
@@ -79,4 +95,22 @@ public abstract class TaskMapper {
                 .map(Label::getId)
                 .collect(Collectors.toSet());
     }
+
+    @Named("labelsToLabelIdsString")
+    public String labelsToLabelIdsString(Set<Label> labels) {
+        var ids = new StringBuilder(",");
+        if (labels != null) {
+            labels.forEach(label -> ids.append(label.getId()).append(','));
+        }
+        return ids.toString();
+    }
+
+    @Named("labelIdsStringToLabelIds")
+    public Set<Long> labelIdsStringToLabelIds(String labelIds) {
+        return labelIds == null ? new HashSet<>()
+                : Arrays.stream(labelIds.split(","))
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,112 @@
+package hexlet.code.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import hexlet.code.repository.TaskRow;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+
+@Component
+public class TaskRowWriter {
+
+    public static final String CSV_HEADER = "id,index,createdAt,assignee_id,title,content,status,taskLabelIds";
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString INDEX = new SerializedString("index");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString ASSIGNEE_ID = new SerializedString("assignee_id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TASK_LABEL_IDS = new SerializedString("taskLabelIds");
+
+    public void writeJson(JsonGenerator generator, TaskRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(row.getId());
+        if (row.getIndex() != null) {
+            generator.writeFieldName(INDEX);
+            generator.writeNumber(row.getIndex());
+        }
+        writeStringField(generator, CREATED_AT, row.getCreatedAt());
+        generator.writeFieldName(ASSIGNEE_ID);
+        generator.writeNumber(row.getAssigneeId());
+        writeStringField(generator, TITLE, row.getTitle());
+        writeStringField(generator, CONTENT, row.getContent());
+        writeStringField(generator, STATUS, row.getStatus());
+        generator.writeFieldName(TASK_LABEL_IDS);
+        generator.writeStartArray();
+        for (int i = 0; i < row.getLabelCount(); i++) {
+            generator.writeNumber(row.getLabelId(i));
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    public void writeCsv(Writer writer, TaskRow row) throws IOException {
+        writer.write(Long.toString(row.getId()));
+        writer.write(',');
+        if (row.getIndex() != null) {
+            writer.write(row.getIndex().toString());
+        }
+        writer.write(',');
+        writeCsvValue(writer, row.getCreatedAt());
+        writer.write(',');
+        if (row.getAssigneeId() != 0) {
+            writer.write(Long.toString(row.getAssigneeId()));
+        }
+        writer.write(',');
+        writeCsvValue(writer, row.getTitle());
+        writer.write(',');
+        writeCsvValue(writer, row.getContent());
+        writer.write(',');
+        writeCsvValue(writer, row.getStatus());
+        writer.write(',');
+        for (int i = 0; i < row.getLabelCount(); i++) {
+            if (i > 0) {
+                writer.write(' ');
+            }
+            writer.write(Long.toString(row.getLabelId(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeStringField(JsonGenerator generator, SerializedString name, String value)
+            throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
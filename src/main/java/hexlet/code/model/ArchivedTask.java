@@ -0,0 +1,38 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "archived_tasks")
+@Getter
+@Setter
+public class ArchivedTask implements BaseEntity {
+
+    @Id
+    private long id;
+
+    private String name;
+
+    private Integer index;
+
+    private String description;
+
+    private String statusSlug;
+
+    private Long assigneeId;
+
+    // comma separated and comma terminated, e.g. ",1,5,", so a label can be matched with like '%,5,%'
+    private String labelIds;
+
+    private LocalDate createdAt;
+
+    private LocalDate finishedAt;
+
+    private LocalDate archivedAt;
+}
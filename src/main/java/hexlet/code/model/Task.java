@@ -1,5 +1,7 @@
 package hexlet.code.model;
 
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
@@ -15,7 +17,9 @@ import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -30,6 +34,7 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Getter
 @Setter
 @EqualsAndHashCode(of = {"name", "taskStatus"})
+@DynamicUpdate
 public class Task implements BaseEntity {
 
     @Id
@@ -42,7 +47,11 @@ public class Task implements BaseEntity {
 
     private Integer index;
 
-    @NotBlank
+    @Column(name = "sort_rank")
+    private Long rank;
+
+    // lazy only with bytecode enhancement; queries that map the task to a DTO fetch it with "fetch all properties"
+    @Basic(fetch = FetchType.LAZY)
     private String description;
 
     @JoinColumn(name = "status_id", nullable = false)
@@ -56,6 +65,19 @@ public class Task implements BaseEntity {
     @CreatedDate
     private LocalDate createdAt;
 
+    @LastModifiedDate
+    private LocalDate updatedAt;
+
+    // set by setTaskStatus only, so edits to other fields do not delay archiving
+    private LocalDate statusChangedAt;
+
     @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.MERGE)
     private Set<Label> labels = new HashSet<>();
+
+    public void setTaskStatus(TaskStatus taskStatus) {
+        if (this.taskStatus == null || taskStatus == null || this.taskStatus.getId() != taskStatus.getId()) {
+            statusChangedAt = LocalDate.now();
+        }
+        this.taskStatus = taskStatus;
+    }
 }
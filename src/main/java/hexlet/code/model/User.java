@@ -16,6 +16,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -35,6 +36,7 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
 @Getter
 @Setter
+@DynamicUpdate
 public class User implements UserDetails, BaseEntity {
 
     @Id
@@ -67,7 +69,7 @@ public class User implements UserDetails, BaseEntity {
     @Column(name = "created_at")
     private LocalDate createdAt;
 
-    @OneToMany(mappedBy = "assignee", fetch = FetchType.EAGER, cascade = CascadeType.MERGE)
+    @OneToMany(mappedBy = "assignee", fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     private List<Task> tasks = new ArrayList<>();
 
     public void addTask(Task task) {
@@ -0,0 +1,161 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.UserDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads everything a board needs with one query per kind of data, independent of the number of columns.
+ * The first tasks of every column are picked once with a window function; the remaining queries take
+ * those ids, or the user and label ids found on them, as a single bound array, so the statement text stays
+ * the same whatever the number of ids.
+ */
+@Repository
+public class BoardRepository {
+
+    private static final String SELECT_TOP_TASK_IDS = """
+            select ranked.id from (
+                select t.id, row_number() over (partition by t.status_id order by t.sort_rank, t.id) as board_position
+                from tasks t
+            ) ranked
+            where ranked.board_position <= ?""";
+
+    private static final String SELECT_STATUSES = """
+            select s.id, s.name, s.slug, s.created_at
+            from statuses s
+            order by s.id""";
+
+    private static final String COUNT_BY_STATUS = "select t.status_id, count(*) from tasks t group by t.status_id";
+
+    private static final String SELECT_TASKS = """
+            select t.id, t.index, t.created_at, t.assignee_id, t.name, t.description, s.slug
+            from tasks t
+            join statuses s on s.id = t.status_id
+            where t.id = any(?)
+            order by t.status_id, t.sort_rank, t.id""";
+
+    private static final String SELECT_TASK_LABELS = """
+            select tl.task_id, tl.labels_id
+            from tasks_labels tl
+            where tl.task_id = any(?)""";
+
+    private static final String SELECT_USERS = """
+            select u.id, u.email, u.first_name, u.last_name, u.created_at
+            from users u
+            where u.id = any(?)
+            order by u.id""";
+
+    private static final String SELECT_LABELS = """
+            select l.id, l.name, l.created_at
+            from labels l
+            where l.id = any(?)
+            order by l.id""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<TaskStatusDTO> findStatuses() {
+        return jdbcTemplate.query(SELECT_STATUSES, (rs, rowNum) -> {
+            var status = new TaskStatusDTO();
+            status.setId(rs.getLong(1));
+            status.setName(rs.getString(2));
+            status.setSlug(rs.getString(3));
+            status.setCreatedAt(toString(rs.getDate(4)));
+            return status;
+        });
+    }
+
+    public Map<Long, Long> countByStatusId() {
+        var counts = new HashMap<Long, Long>();
+        jdbcTemplate.query(COUNT_BY_STATUS, rs -> {
+            counts.put(rs.getLong(1), rs.getLong(2));
+        });
+        return counts;
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} tasks of every status.
+     */
+    public List<Long> findTopTaskIds(int limit) {
+        return jdbcTemplate.queryForList(SELECT_TOP_TASK_IDS, Long.class, limit);
+    }
+
+    /**
+     * Returns the given tasks in board order, keyed by task id.
+     */
+    public Map<Long, TaskDTO> findTasks(Collection<Long> ids) {
+        var tasks = new LinkedHashMap<Long, TaskDTO>();
+        if (ids.isEmpty()) {
+            return tasks;
+        }
+        var params = idArray(ids);
+        jdbcTemplate.query(SELECT_TASKS, params, rs -> {
+            var task = new TaskDTO();
+            task.setId(rs.getLong(1));
+            var index = rs.getInt(2);
+            task.setIndex(rs.wasNull() ? null : index);
+            task.setCreatedAt(toString(rs.getDate(3)));
+            task.setAssigneeId(rs.getLong(4));
+            task.setTitle(rs.getString(5));
+            task.setContent(rs.getString(6));
+            task.setStatus(rs.getString(7));
+            tasks.put(task.getId(), task);
+        });
+
+        jdbcTemplate.query(SELECT_TASK_LABELS, params, rs -> {
+            var task = tasks.get(rs.getLong(1));
+            if (task != null) {
+                task.getTaskLabelIds().add(rs.getLong(2));
+            }
+        });
+        return tasks;
+    }
+
+    public List<UserDTO> findUsers(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_USERS, idArray(ids), (rs, rowNum) -> {
+            var user = new UserDTO();
+            user.setId(rs.getLong(1));
+            user.setEmail(rs.getString(2));
+            user.setFirstName(rs.getString(3));
+            user.setLastName(rs.getString(4));
+            user.setCreatedAt(toString(rs.getDate(5)));
+            return user;
+        });
+    }
+
+    public List<LabelDTO> findLabels(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_LABELS, idArray(ids), (rs, rowNum) -> {
+            var label = new LabelDTO();
+            label.setId(rs.getLong(1));
+            label.setName(rs.getString(2));
+            label.setCreatedAt(toString(rs.getDate(3)));
+            return label;
+        });
+    }
+
+    private static PreparedStatementSetter idArray(Collection<Long> ids) {
+        return ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+    }
+
+    private static String toString(Date date) {
+        return date == null ? null : date.toLocalDate().toString();
+    }
+}
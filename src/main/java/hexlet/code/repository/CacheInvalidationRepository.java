@@ -0,0 +1,62 @@
+package hexlet.code.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public class CacheInvalidationRepository {
+
+    private static final String INSERT = """
+            insert into cache_invalidations (region, entity_id, node, created_at)
+            values (?, ?, ?, ?)""";
+
+    private static final String SELECT_AFTER = """
+            select c.id, c.region, c.entity_id, c.node, c.created_at
+            from cache_invalidations c
+            where c.id > ?
+            order by c.id
+            limit ?""";
+
+    private static final String COUNT_AFTER = "select count(*) from cache_invalidations c where c.id > ?";
+
+    private static final String MAX_ID = "select coalesce(max(c.id), 0) from cache_invalidations c";
+
+    private static final String DELETE_BEFORE = "delete from cache_invalidations where created_at < ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void append(String region, Long entityId, String node, Instant createdAt) {
+        jdbcTemplate.update(INSERT, region, entityId, node, Timestamp.from(createdAt));
+    }
+
+    public List<Entry> findAfter(long id, int limit) {
+        return jdbcTemplate.query(SELECT_AFTER, (rs, rowNum) -> {
+            var entityId = rs.getLong(3);
+            return new Entry(rs.getLong(1), rs.getString(2), rs.wasNull() ? null : entityId, rs.getString(4),
+                    rs.getTimestamp(5).toInstant());
+        }, id, limit);
+    }
+
+    public long countAfter(long id) {
+        var count = jdbcTemplate.queryForObject(COUNT_AFTER, Long.class, id);
+        return count == null ? 0 : count;
+    }
+
+    public long findMaxId() {
+        var id = jdbcTemplate.queryForObject(MAX_ID, Long.class);
+        return id == null ? 0 : id;
+    }
+
+    public int deleteCreatedBefore(Instant createdAt) {
+        return jdbcTemplate.update(DELETE_BEFORE, Timestamp.from(createdAt));
+    }
+
+    public record Entry(long id, String region, Long entityId, String node, Instant createdAt) {
+    }
+}
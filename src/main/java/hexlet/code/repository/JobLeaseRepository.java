@@ -0,0 +1,167 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.JobRunDTO;
+import hexlet.code.dto.JobStatusDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Leases are plain rows updated with a conditional UPDATE, which behaves the same on PostgreSQL and H2: the
+ * owner may take or extend a lease while it holds it, anyone else only once it has expired. Checkpoints are
+ * written with the same owner condition, so a node that lost its lease can no longer move the job forward.
+ */
+@Repository
+public class JobLeaseRepository {
+
+    private static final String INSERT_LEASE = "insert into job_leases (name) values (?)";
+
+    private static final String ACQUIRE = """
+            update job_leases set owner = ?, lease_until = ?
+            where name = ? and (owner is null or owner = ? or lease_until < ?)""";
+
+    private static final String CHECKPOINT = """
+            update job_leases set checkpoint = ?, lease_until = ?
+            where name = ? and owner = ?""";
+
+    private static final String RELEASE = """
+            update job_leases set owner = null, lease_until = null
+            where name = ? and owner = ?""";
+
+    private static final String SELECT_CHECKPOINT = "select checkpoint from job_leases where name = ?";
+
+    private static final String SELECT_LEASES = """
+            select l.name, l.owner, l.lease_until, l.checkpoint
+            from job_leases l
+            order by l.name""";
+
+    private static final String INSERT_RUN = """
+            insert into job_runs (job_name, owner, started_at, status, chunks, items)
+            values (?, ?, ?, 'RUNNING', 0, 0)""";
+
+    private static final String FINISH_RUN = """
+            update job_runs set finished_at = ?, status = ?, chunks = ?, items = ?, message = ?
+            where id = ?""";
+
+    private static final String SELECT_RUNS = """
+            select r.id, r.owner, r.started_at, r.finished_at, r.status, r.chunks, r.items, r.message
+            from job_runs r
+            where r.job_name = ?
+            order by r.id desc
+            limit ?""";
+
+    private static final String OLDEST_KEPT_RUN = """
+            select r.id from job_runs r
+            where r.job_name = ?
+            order by r.id desc
+            limit 1 offset ?""";
+
+    private static final String DELETE_RUNS_BEFORE = "delete from job_runs where job_name = ? and id < ?";
+
+    private static final String DELETE_RUNS = "delete from job_runs where job_name = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public boolean tryAcquire(String name, String owner, Instant now, Instant until) {
+        if (acquire(name, owner, now, until)) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(INSERT_LEASE, name);
+        } catch (DuplicateKeyException ex) {
+            // another node created the row first, it is in place either way
+        }
+        return acquire(name, owner, now, until);
+    }
+
+    public boolean checkpoint(String name, String owner, String checkpoint, Instant until) {
+        return jdbcTemplate.update(CHECKPOINT, checkpoint, Timestamp.from(until), name, owner) == 1;
+    }
+
+    public void release(String name, String owner) {
+        jdbcTemplate.update(RELEASE, name, owner);
+    }
+
+    public Optional<String> findCheckpoint(String name) {
+        return jdbcTemplate.query(SELECT_CHECKPOINT, (rs, rowNum) -> rs.getString(1), name).stream()
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    public long startRun(String name, String owner, Instant startedAt) {
+        var keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(INSERT_RUN, Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, name);
+            statement.setString(2, owner);
+            statement.setTimestamp(3, Timestamp.from(startedAt));
+            return statement;
+        }, keyHolder);
+        return ((Number) keyHolder.getKeys().get("id")).longValue();
+    }
+
+    public void finishRun(long id, Instant finishedAt, String status, int chunks, long items, String message) {
+        jdbcTemplate.update(FINISH_RUN, Timestamp.from(finishedAt), status, chunks, items, message, id);
+    }
+
+    public void trimRuns(String name, int keep) {
+        if (keep <= 0) {
+            jdbcTemplate.update(DELETE_RUNS, name);
+            return;
+        }
+        jdbcTemplate.query(OLDEST_KEPT_RUN, (rs, rowNum) -> rs.getLong(1), name, keep - 1).stream()
+                .findFirst()
+                .ifPresent(oldest -> jdbcTemplate.update(DELETE_RUNS_BEFORE, name, oldest));
+    }
+
+    public List<JobRunDTO> findRuns(String name, int limit) {
+        return jdbcTemplate.query(SELECT_RUNS, JobLeaseRepository::mapRun, name, limit);
+    }
+
+    public List<JobStatusDTO> findLeases() {
+        return jdbcTemplate.query(SELECT_LEASES, (rs, rowNum) -> {
+            var status = new JobStatusDTO();
+            status.setName(rs.getString(1));
+            status.setOwner(rs.getString(2));
+            status.setLeaseUntil(instant(rs.getTimestamp(3)));
+            status.setCheckpoint(rs.getString(4));
+            return status;
+        });
+    }
+
+    private boolean acquire(String name, String owner, Instant now, Instant until) {
+        return jdbcTemplate.update(ACQUIRE, owner, Timestamp.from(until), name, owner, Timestamp.from(now)) == 1;
+    }
+
+    private static JobRunDTO mapRun(ResultSet rs, int rowNum) throws SQLException {
+        var run = new JobRunDTO();
+        run.setId(rs.getLong(1));
+        run.setOwner(rs.getString(2));
+        run.setStartedAt(instant(rs.getTimestamp(3)));
+        run.setFinishedAt(instant(rs.getTimestamp(4)));
+        if (run.getFinishedAt() != null) {
+            run.setDurationMillis(run.getFinishedAt().toEpochMilli() - run.getStartedAt().toEpochMilli());
+        }
+        run.setStatus(rs.getString(5));
+        run.setChunks(rs.getInt(6));
+        run.setItems(rs.getLong(7));
+        run.setMessage(rs.getString(8));
+        return run;
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -1,9 +1,12 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.model.Label;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -12,5 +15,11 @@ public interface LabelRepository extends JpaRepository<Label, Long> {
 
     Optional<Label> findByName(String name);
 
+    boolean existsByName(String name);
+
     Set<Label> findByIdIn(Set<Long> labelsIds);
+
+    @Query("select new hexlet.code.dto.TaskCountDTO(l.id, count(t)) from Label l left join l.tasks t"
+            + " group by l.id order by l.id")
+    List<TaskCountDTO> countTasks();
 }
@@ -1,13 +1,44 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    // "fetch all properties" loads the lazy description in the same select
+    @Query("select t from Task t fetch all properties where t.name = :name")
     Optional<Task> findByName(String name);
+
+    @Query("select t from Task t fetch all properties where t.id = :id")
+    Optional<Task> findWithContentById(long id);
+
+    @Query("select t from Task t fetch all properties where t.taskStatus.slug = :slug"
+            + " and t.statusChangedAt < :finishedBefore order by t.id")
+    List<Task> findFinishedBefore(String slug, LocalDate finishedBefore, Pageable pageable);
+
+    @Query("select t.rank from Task t where t.id = :id and t.taskStatus = :status")
+    Optional<Long> findRankInStatus(long id, TaskStatus status);
+
+    @Query("select max(t.rank) from Task t where t.taskStatus = :status")
+    Long findMaxRank(TaskStatus status);
+
+    // the neighbour queries skip the task being moved, so it never ends up halving its own gap
+    @Query("select max(t.rank) from Task t where t.taskStatus = :status and t.id <> :excludedId")
+    Long findMaxRankExcluding(TaskStatus status, long excludedId);
+
+    @Query("select max(t.rank) from Task t where t.taskStatus = :status and t.rank < :rank and t.id <> :excludedId")
+    Long findMaxRankBelow(TaskStatus status, long rank, long excludedId);
+
+    @Query("select min(t.rank) from Task t where t.taskStatus = :status and t.rank > :rank and t.id <> :excludedId")
+    Long findMinRankAbove(TaskStatus status, long rank, long excludedId);
 }
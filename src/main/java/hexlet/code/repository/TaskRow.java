@@ -0,0 +1,77 @@
+package hexlet.code.repository;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+@Getter
+public class TaskRow {
+
+    private long id;
+
+    private Integer index;
+
+    private String createdAt;
+
+    private long assigneeId;
+
+    private String title;
+
+    private String content;
+
+    private String status;
+
+    private long[] labelIds = new long[4];
+
+    private int labelCount;
+
+    void reset(long rowId) {
+        this.id = rowId;
+        this.labelCount = 0;
+    }
+
+    void fill(Integer rowIndex, String rowCreatedAt, long rowAssigneeId,
+              String rowTitle, String rowContent, String rowStatus) {
+        this.index = rowIndex;
+        this.createdAt = rowCreatedAt;
+        this.assigneeId = rowAssigneeId;
+        this.title = rowTitle;
+        this.content = rowContent;
+        this.status = rowStatus;
+    }
+
+    void addLabelId(long labelId) {
+        if (labelCount == labelIds.length) {
+            labelIds = Arrays.copyOf(labelIds, labelCount * 2);
+        }
+        labelIds[labelCount++] = labelId;
+    }
+
+    void addLabelIds(String commaSeparated) {
+        if (commaSeparated == null) {
+            return;
+        }
+        long value = 0;
+        var digits = false;
+        for (int i = 0; i < commaSeparated.length(); i++) {
+            var c = commaSeparated.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else {
+                if (digits) {
+                    addLabelId(value);
+                }
+                value = 0;
+                digits = false;
+            }
+        }
+        if (digits) {
+            addLabelId(value);
+        }
+    }
+
+    public long getLabelId(int position) {
+        return labelIds[position];
+    }
+}
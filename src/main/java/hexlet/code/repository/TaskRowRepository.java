@@ -0,0 +1,232 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskFilterDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class TaskRowRepository {
+
+    private static final String SELECT_ROWS = """
+            select t.id, t.index, t.created_at, t.assignee_id, t.name, t.description, s.slug, tl.labels_id
+            from tasks t
+            join statuses s on s.id = t.status_id
+            left join tasks_labels tl on tl.task_id = t.id""";
+
+    private static final String COUNT_ROWS = """
+            select count(*)
+            from tasks t
+            join statuses s on s.id = t.status_id""";
+
+    private static final String SELECT_ARCHIVED_ROWS = """
+            select a.id, a.index, a.created_at, a.assignee_id, a.name, a.description, a.status_slug, a.label_ids
+            from archived_tasks a""";
+
+    private static final String COUNT_ARCHIVED_ROWS = "select count(*) from archived_tasks a";
+
+    private static final String ORDER_BY = " order by t.status_id, t.sort_rank, t.id";
+
+    private static final String ARCHIVED_ORDER_BY = " order by a.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the tasks matching the filters through a forward-only cursor and hands them to the handler one by one.
+     * The same {@link TaskRow} instance is reused for every task and label ids stay in a primitive array,
+     * so handlers must not keep references to it.
+     */
+    public void forEach(TaskFilterDTO filters, int fetchSize, TaskRowHandler handler) throws IOException {
+        try {
+            var callback = new GroupingCallback(handler);
+            stream(buildQuery(filters), fetchSize, callback);
+            callback.finish();
+
+            if (filters.isIncludeArchived()) {
+                stream(buildArchivedQuery(filters), fetchSize, new ArchivedCallback(handler));
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    public long count(TaskFilterDTO filters) {
+        var total = count(COUNT_ROWS, filters, TaskRowRepository::appendFilters);
+        if (filters.isIncludeArchived()) {
+            total += count(COUNT_ARCHIVED_ROWS, filters, TaskRowRepository::appendArchivedFilters);
+        }
+        return total;
+    }
+
+    public Query buildQuery(TaskFilterDTO filters) {
+        var sql = new StringBuilder(SELECT_ROWS);
+        var params = new ArrayList<Object>();
+        appendFilters(filters, sql, params);
+        sql.append(ORDER_BY);
+        return new Query(sql.toString(), params);
+    }
+
+    public Query buildArchivedQuery(TaskFilterDTO filters) {
+        var sql = new StringBuilder(SELECT_ARCHIVED_ROWS);
+        var params = new ArrayList<Object>();
+        appendArchivedFilters(filters, sql, params);
+        sql.append(ARCHIVED_ORDER_BY);
+        return new Query(sql.toString(), params);
+    }
+
+    private void stream(Query query, int fetchSize, RowCallbackHandler callback) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(query.sql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            var params = query.params();
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, callback);
+    }
+
+    private long count(String select, TaskFilterDTO filters, FilterAppender appender) {
+        var sql = new StringBuilder(select);
+        var params = new ArrayList<Object>();
+        appender.append(filters, sql, params);
+        var count = jdbcTemplate.queryForObject(sql.toString(), Long.class, params.toArray());
+        return count == null ? 0 : count;
+    }
+
+    private static void appendFilters(TaskFilterDTO filters, StringBuilder sql, List<Object> params) {
+        sql.append(" where 1 = 1");
+
+        if (filters.getTitleCont() != null) {
+            sql.append(" and lower(t.name) like ?");
+            params.add("%" + filters.getTitleCont().toLowerCase() + "%");
+        }
+        if (filters.getAssigneeId() != null) {
+            sql.append(" and t.assignee_id = ?");
+            params.add(filters.getAssigneeId());
+        }
+        if (filters.getStatus() != null) {
+            sql.append(" and s.slug = ?");
+            params.add(filters.getStatus());
+        }
+        if (filters.getLabelId() != null) {
+            sql.append(" and exists (select 1 from tasks_labels fl where fl.task_id = t.id and fl.labels_id = ?)");
+            params.add(filters.getLabelId());
+        }
+    }
+
+    private static void appendArchivedFilters(TaskFilterDTO filters, StringBuilder sql, List<Object> params) {
+        sql.append(" where 1 = 1");
+
+        if (filters.getTitleCont() != null) {
+            sql.append(" and lower(a.name) like ?");
+            params.add("%" + filters.getTitleCont().toLowerCase() + "%");
+        }
+        if (filters.getAssigneeId() != null) {
+            sql.append(" and a.assignee_id = ?");
+            params.add(filters.getAssigneeId());
+        }
+        if (filters.getStatus() != null) {
+            sql.append(" and a.status_slug = ?");
+            params.add(filters.getStatus());
+        }
+        if (filters.getLabelId() != null) {
+            sql.append(" and a.label_ids like ?");
+            params.add("%," + filters.getLabelId() + ",%");
+        }
+    }
+
+    public record Query(String sql, List<Object> params) {
+    }
+
+    @FunctionalInterface
+    private interface FilterAppender {
+        void append(TaskFilterDTO filters, StringBuilder sql, List<Object> params);
+    }
+
+    @FunctionalInterface
+    public interface TaskRowHandler {
+        void handle(TaskRow row) throws IOException;
+    }
+
+    private static final class GroupingCallback implements RowCallbackHandler {
+
+        private final TaskRowHandler handler;
+
+        private final TaskRow row = new TaskRow();
+
+        private boolean started;
+
+        GroupingCallback(TaskRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            var id = rs.getLong(1);
+            if (!started || id != row.getId()) {
+                if (started) {
+                    emit();
+                }
+                row.reset(id);
+                var index = rs.getInt(2);
+                row.fill(rs.wasNull() ? null : index, rs.getString(3), rs.getLong(4),
+                        rs.getString(5), rs.getString(6), rs.getString(7));
+                started = true;
+            }
+            var labelId = rs.getLong(8);
+            if (!rs.wasNull()) {
+                row.addLabelId(labelId);
+            }
+        }
+
+        void finish() {
+            if (started) {
+                emit();
+            }
+        }
+
+        private void emit() {
+            try {
+                handler.handle(row);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    private static final class ArchivedCallback implements RowCallbackHandler {
+
+        private final TaskRowHandler handler;
+
+        private final TaskRow row = new TaskRow();
+
+        ArchivedCallback(TaskRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            row.reset(rs.getLong(1));
+            var index = rs.getInt(2);
+            row.fill(rs.wasNull() ? null : index, rs.getString(3), rs.getLong(4),
+                    rs.getString(5), rs.getString(6), rs.getString(7));
+            row.addLabelIds(rs.getString(8));
+            try {
+                handler.handle(row);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
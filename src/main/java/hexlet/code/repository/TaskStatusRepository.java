@@ -1,13 +1,25 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long>, JpaSpecificationExecutor<TaskStatus> {
     Optional<TaskStatus> findBySlug(String slug);
+
+    boolean existsBySlug(String slug);
+
+    List<TaskStatus> findBySlugIn(Collection<String> slugs);
+
+    @Query("select new hexlet.code.dto.TaskCountDTO(s.id, count(t)) from TaskStatus s left join s.tasks t"
+            + " group by s.id order by s.id")
+    List<TaskCountDTO> countTasks();
 }
@@ -1,12 +1,21 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @Query("select new hexlet.code.dto.TaskCountDTO(u.id, count(t)) from User u left join u.tasks t"
+            + " group by u.id order by u.id")
+    List<TaskCountDTO> countTasks();
 }
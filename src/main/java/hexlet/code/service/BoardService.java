@@ -0,0 +1,59 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.BoardColumnDTO;
+import hexlet.code.dto.BoardDTO;
+import hexlet.code.repository.BoardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.TreeSet;
+
+@Service
+public class BoardService {
+
+    public static final int MAX_TASKS_PER_COLUMN = 100;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Transactional(readOnly = true)
+    public BoardDTO getBoard(int limit) {
+        if (limit < 1 || limit > MAX_TASKS_PER_COLUMN) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_TASKS_PER_COLUMN);
+        }
+
+        var board = new BoardDTO();
+        var counts = boardRepository.countByStatusId();
+        var columns = new HashMap<String, BoardColumnDTO>();
+        for (var status : boardRepository.findStatuses()) {
+            var column = new BoardColumnDTO();
+            column.setStatus(status);
+            column.setTotal(counts.getOrDefault(status.getId(), 0L));
+            columns.put(status.getSlug(), column);
+            board.getColumns().add(column);
+        }
+
+        var userIds = new TreeSet<Long>();
+        var labelIds = new TreeSet<Long>();
+        for (var task : boardRepository.findTasks(boardRepository.findTopTaskIds(limit)).values()) {
+            var column = columns.get(task.getStatus());
+            // a status created after the columns were read has no column on this board
+            if (column == null) {
+                continue;
+            }
+            column.getTasks().add(task);
+            if (task.getAssigneeId() != 0) {
+                userIds.add(task.getAssigneeId());
+            }
+            labelIds.addAll(task.getTaskLabelIds());
+        }
+        board.setUsers(boardRepository.findUsers(userIds));
+        board.setLabels(boardRepository.findLabels(labelIds));
+        return board;
+    }
+}
@@ -0,0 +1,12 @@
+package hexlet.code.service;
+
+/**
+ * Evicts local cache entries when this node, after commit, or another node changed the data behind them.
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * @param entityId the changed entity, or {@code null} when any entry of the region may be stale
+     */
+    void invalidate(CacheRegion region, Long entityId);
+}
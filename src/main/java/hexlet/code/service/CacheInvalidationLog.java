@@ -0,0 +1,61 @@
+package hexlet.code.service;
+
+import hexlet.code.component.CacheInvalidationProperties;
+import hexlet.code.repository.CacheInvalidationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@Slf4j
+public class CacheInvalidationLog {
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private CacheInvalidationProperties cacheInvalidationProperties;
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    @Autowired
+    private List<CacheInvalidationListener> listeners;
+
+    /**
+     * Records a change for the other nodes and, once the writing transaction commits, hands it to the local
+     * listeners too, so they see the same changes whether they were made here or elsewhere. Called inside the
+     * writing transaction, so the record becomes visible exactly when the change does and disappears with it
+     * on rollback.
+     */
+    public void append(CacheRegion region, Long entityId) {
+        if (cacheInvalidationProperties.isEnabled()) {
+            cacheInvalidationRepository.append(region.name(), entityId, jobRunner.getNodeId(), Instant.now());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyListeners(region, entityId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notifyListeners(region, entityId);
+            }
+        });
+    }
+
+    private void notifyListeners(CacheRegion region, Long entityId) {
+        for (var listener : listeners) {
+            try {
+                listener.invalidate(region, entityId);
+            } catch (RuntimeException ex) {
+                log.warn("Cache listener {} failed on {} {}", listener, region, entityId, ex);
+            }
+        }
+    }
+}
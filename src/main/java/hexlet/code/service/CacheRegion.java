@@ -0,0 +1,8 @@
+package hexlet.code.service;
+
+public enum CacheRegion {
+    TASK,
+    TASK_STATUS,
+    LABEL,
+    USER
+}
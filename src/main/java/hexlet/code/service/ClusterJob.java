@@ -0,0 +1,31 @@
+package hexlet.code.service;
+
+/**
+ * A scheduled job that {@link JobRunner} runs on one node at a time, one chunk per transaction.
+ * The checkpoint returned by a chunk is committed together with its work and handed to the next chunk,
+ * also when the job resumes in a later run or on another node.
+ */
+public interface ClusterJob {
+
+    String getName();
+
+    default int getMaxChunksPerRun() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param checkpoint the checkpoint of the last committed chunk, or {@code null} when the job starts over
+     */
+    ChunkResult runChunk(String checkpoint);
+
+    record ChunkResult(long items, String checkpoint, boolean done) {
+
+        public static ChunkResult next(long items, String checkpoint) {
+            return new ChunkResult(items, checkpoint, false);
+        }
+
+        public static ChunkResult done(long items) {
+            return new ChunkResult(items, null, true);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.ImportErrorDTO;
+import hexlet.code.dto.ImportJobDTO;
+import hexlet.code.dto.TaskExportFormat;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+class ImportJob {
+
+    enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+
+    private final TaskExportFormat format;
+
+    private final Path file;
+
+    private final int maxErrors;
+
+    private volatile State state = State.QUEUED;
+
+    private volatile String message;
+
+    private final AtomicLong processedRows = new AtomicLong();
+
+    private final AtomicLong importedRows = new AtomicLong();
+
+    private final AtomicLong failedRows = new AtomicLong();
+
+    // only the first maxErrors are kept, the rest are just counted
+    private final List<ImportErrorDTO> errors = new ArrayList<>();
+
+    ImportJob(String id, TaskExportFormat format, Path file, int maxErrors) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+        this.maxErrors = maxErrors;
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    void start() {
+        state = State.RUNNING;
+    }
+
+    void complete() {
+        state = State.COMPLETED;
+    }
+
+    void fail(String failure) {
+        message = failure;
+        state = State.FAILED;
+    }
+
+    void processed(long rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    void imported(long rows) {
+        importedRows.addAndGet(rows);
+    }
+
+    void rowFailed(long row, String error) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDTO(row, error));
+            }
+        }
+    }
+
+    ImportJobDTO toDTO() {
+        var dto = new ImportJobDTO();
+        dto.setId(id);
+        dto.setState(state.name());
+        dto.setFormat(format.name().toLowerCase());
+        dto.setProcessedRows(processedRows.get());
+        dto.setImportedRows(importedRows.get());
+        dto.setFailedRows(failedRows.get());
+        dto.setMessage(message);
+        synchronized (errors) {
+            dto.setErrors(new ArrayList<>(errors));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,152 @@
+package hexlet.code.service;
+
+import hexlet.code.component.JobProperties;
+import hexlet.code.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+@Slf4j
+public class JobRunner {
+
+    // job_runs.message is varchar(1000)
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private JobProperties jobProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Getter
+    private String nodeId;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        nodeId = jobProperties.getNodeId() != null ? jobProperties.getNodeId() : defaultNodeId();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs the job if no other node holds its lease. Every chunk commits its work together with the new checkpoint
+     * and a renewed lease, and is rolled back if the lease has been taken over in the meantime.
+     *
+     * @return {@code false} if the lease is held elsewhere and the job was skipped
+     */
+    public boolean run(ClusterJob job) {
+        var name = job.getName();
+        var leaseDuration = jobProperties.getLeaseDuration();
+        var startedAt = Instant.now();
+        if (!jobLeaseRepository.tryAcquire(name, nodeId, startedAt, startedAt.plus(leaseDuration))) {
+            log.debug("Job {} is running on another node", name);
+            return false;
+        }
+
+        var runId = jobLeaseRepository.startRun(name, nodeId, startedAt);
+        var checkpoint = jobLeaseRepository.findCheckpoint(name).orElse(null);
+        var chunks = 0;
+        var items = 0L;
+        Status status = null;
+        String message = null;
+        try {
+            while (status == null) {
+                if (chunks == job.getMaxChunksPerRun()) {
+                    status = Status.PARTIAL;
+                    break;
+                }
+                var from = checkpoint;
+                var result = transactionTemplate.execute(tx -> runChunk(job, from, leaseDuration));
+                chunks++;
+                items += result.items();
+                checkpoint = result.checkpoint();
+                if (result.done()) {
+                    status = Status.COMPLETED;
+                }
+            }
+        } catch (LeaseLostException ex) {
+            status = Status.LOST;
+            message = ex.getMessage();
+            log.warn("Job {} stopped after {} chunks: {}", name, chunks, message);
+        } catch (RuntimeException ex) {
+            status = Status.FAILED;
+            message = ex.getMessage();
+            log.error("Job {} failed after {} chunks", name, chunks, ex);
+        } finally {
+            var finishedAt = Instant.now();
+            var finalStatus = status == null ? Status.FAILED : status;
+            // releasing comes first and bookkeeping failures are only logged, so neither can hide the run's outcome
+            try {
+                jobLeaseRepository.release(name, nodeId);
+            } catch (RuntimeException ex) {
+                log.warn("Could not release the lease on job {}; it expires at the end of its term", name, ex);
+            }
+            try {
+                jobLeaseRepository.finishRun(runId, finishedAt, finalStatus.name(), chunks, items,
+                        truncate(message));
+                jobLeaseRepository.trimRuns(name, jobProperties.getHistorySize());
+            } catch (RuntimeException ex) {
+                log.warn("Could not record the {} run of job {}", finalStatus, name, ex);
+            }
+            Timer.builder("jobs.run")
+                    .tag("job", name)
+                    .tag("status", finalStatus.name())
+                    .register(meterRegistry)
+                    .record(Duration.between(startedAt, finishedAt));
+        }
+        return true;
+    }
+
+    private ClusterJob.ChunkResult runChunk(ClusterJob job, String checkpoint, Duration leaseDuration) {
+        var result = job.runChunk(checkpoint);
+        var next = result.done() ? null : result.checkpoint();
+        if (!jobLeaseRepository.checkpoint(job.getName(), nodeId, next, Instant.now().plus(leaseDuration))) {
+            throw new LeaseLostException("lease on " + job.getName() + " was taken over by another node");
+        }
+        return result;
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_MESSAGE_LENGTH
+                ? message
+                : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private static String defaultNodeId() {
+        var pid = ProcessHandle.current().pid();
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + pid;
+        } catch (UnknownHostException ex) {
+            return "node-" + pid;
+        }
+    }
+
+    public enum Status {
+        COMPLETED, PARTIAL, FAILED, LOST
+    }
+
+    private static final class LeaseLostException extends RuntimeException {
+        LeaseLostException(String message) {
+            super(message);
+        }
+    }
+}
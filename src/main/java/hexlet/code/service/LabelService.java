@@ -1,14 +1,17 @@
 package hexlet.code.service;
 
+import hexlet.code.component.TaskWriteVersion;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
 import hexlet.code.dto.LabelUpdateDTO;
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.repository.LabelRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -22,13 +25,23 @@ public class LabelService {
     @Autowired
     private LabelMapper labelMapper;
 
+    @Autowired
+    private CacheInvalidationLog cacheInvalidationLog;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    @Transactional
     public LabelDTO create(LabelCreateDTO labelCreateDTO) {
+        taskWriteVersion.bump();
         var label = labelMapper.map(labelCreateDTO);
 
         labelRepository.save(label);
+        cacheInvalidationLog.append(CacheRegion.LABEL, label.getId());
         return labelMapper.map(label);
     }
 
+    @Transactional(readOnly = true)
     public List<LabelDTO> getAll() {
         var tasks = labelRepository.findAll();
         return tasks.stream()
@@ -36,22 +49,34 @@ public class LabelService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<TaskCountDTO> getTaskCounts() {
+        return labelRepository.countTasks();
+    }
+
+    @Transactional(readOnly = true)
     public LabelDTO findById(Long id) {
         var label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label With Id: " + id + " Not Found"));
         return labelMapper.map(label);
     }
 
+    @Transactional
     public LabelDTO update(LabelUpdateDTO labelUpdateDTO, Long id) {
+        taskWriteVersion.bump();
         var label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label With Id: " + id + " Not Found"));
         labelMapper.update(labelUpdateDTO, label);
 
         labelRepository.save(label);
+        cacheInvalidationLog.append(CacheRegion.LABEL, id);
         return labelMapper.map(label);
     }
 
+    @Transactional
     public void delete(Long id) {
+        taskWriteVersion.bump();
         labelRepository.deleteById(id);
+        cacheInvalidationLog.append(CacheRegion.LABEL, id);
     }
 }
@@ -0,0 +1,51 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskWriteVersion;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+public class TaskArchiveService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    @Autowired
+    private CacheInvalidationLog cacheInvalidationLog;
+
+    @Transactional
+    public int archiveBatch(String statusSlug, LocalDate finishedBefore, int batchSize) {
+        var tasks = taskRepository.findFinishedBefore(statusSlug, finishedBefore, PageRequest.ofSize(batchSize));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        taskWriteVersion.bump();
+        var today = LocalDate.now();
+        for (var task : tasks) {
+            var archivedTask = taskMapper.toArchived(task);
+            archivedTask.setArchivedAt(today);
+            // archived rows keep the id of the task, so persist instead of letting save() merge them
+            entityManager.persist(archivedTask);
+        }
+        taskRepository.deleteAll(tasks);
+        cacheInvalidationLog.append(CacheRegion.TASK, null);
+        return tasks.size();
+    }
+}
@@ -0,0 +1,60 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskExportFormat;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.mapper.TaskRowWriter;
+import hexlet.code.repository.TaskRowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class TaskExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    @Autowired
+    private TaskRowRepository taskRowRepository;
+
+    @Autowired
+    private TaskRowWriter taskRowWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // A transaction keeps the JDBC connection in manual-commit mode, which PostgreSQL needs to honour the fetch size
+    @Transactional(readOnly = true)
+    public void export(TaskFilterDTO taskFilterDTO, TaskExportFormat format, OutputStream out) throws IOException {
+        switch (format) {
+            case NDJSON -> exportNdjson(taskFilterDTO, out);
+            case CSV -> exportCsv(taskFilterDTO, out);
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    private void exportNdjson(TaskFilterDTO taskFilterDTO, OutputStream out) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            taskRowRepository.forEach(taskFilterDTO, FETCH_SIZE, row -> taskRowWriter.writeJson(generator, row));
+            generator.writeRaw('\n');
+        }
+    }
+
+    private void exportCsv(TaskFilterDTO taskFilterDTO, OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(TaskRowWriter.CSV_HEADER);
+        writer.write("\r\n");
+        taskRowRepository.forEach(taskFilterDTO, FETCH_SIZE, row -> taskRowWriter.writeCsv(writer, row));
+        writer.flush();
+    }
+}
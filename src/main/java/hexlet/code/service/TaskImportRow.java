@@ -0,0 +1,7 @@
+package hexlet.code.service;
+
+import java.util.List;
+
+record TaskImportRow(long row, String title, String content, Integer index, String status, Long assigneeId,
+                     List<Long> labelIds) {
+}
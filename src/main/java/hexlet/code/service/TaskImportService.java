@@ -0,0 +1,181 @@
+package hexlet.code.service;
+
+import hexlet.code.component.ImportProperties;
+import hexlet.code.config.WorkloadClass;
+import hexlet.code.dto.ImportJobDTO;
+import hexlet.code.dto.TaskExportFormat;
+import hexlet.code.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Accepts uploads by spooling them to disk and hands them to a small private pool, so a request thread is
+ * held only for the copy. The pool is deliberately not a bean: registering an executor would replace the one
+ * Spring Boot provides for {@code @Async} work.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+
+    @Autowired
+    private TaskImportWorker taskImportWorker;
+
+    private final ImportProperties importProperties;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public TaskImportService(ImportProperties importProperties) {
+        this.importProperties = importProperties;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("task-import-");
+        executor.setCorePoolSize(importProperties.getWorkers());
+        executor.setMaxPoolSize(importProperties.getWorkers());
+        executor.setQueueCapacity(importProperties.getQueueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Copies the upload to disk and fingerprints it. Uploads over {@code app.import.max-upload-size} are refused
+     * with 413: up front when the declared length is too large, otherwise as soon as the copy passes the limit.
+     */
+    public Upload spool(TaskExportFormat format, InputStream body, long contentLength) throws IOException {
+        var maxUploadSize = importProperties.getMaxUploadSize().toBytes();
+        if (contentLength > maxUploadSize) {
+            throw tooLarge();
+        }
+        var digest = sha256();
+        var file = Files.createTempFile(Path.of(importProperties.getSpoolDirectory()),
+                "task-import-", "." + format.getExtension());
+        try (var out = Files.newOutputStream(file)) {
+            var buffer = new byte[8192];
+            long copied = 0;
+            var read = body.read(buffer);
+            while (read != -1) {
+                copied += read;
+                if (copied > maxUploadSize) {
+                    throw tooLarge();
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                read = body.read(buffer);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return new Upload(format, file, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Queues a spooled upload. The file belongs to the job from here on, or is deleted if the queue is full.
+     */
+    public ImportJobDTO submit(Upload upload) {
+        var job = new ImportJob(UUID.randomUUID().toString(), upload.format(), upload.file(),
+                importProperties.getMaxErrors());
+        register(job);
+        try {
+            executor.execute(() -> process(job));
+        } catch (TaskRejectedException ex) {
+            unregister(job);
+            discard(upload);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports are queued");
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Deletes an upload that was not submitted, e.g. because its idempotency key had already been used.
+     */
+    public void discard(Upload upload) {
+        delete(upload.file());
+    }
+
+    private ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Uploads are limited to " + importProperties.getMaxUploadSize());
+    }
+
+    public ImportJobDTO findById(String id) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Import with id " + id + " not found");
+        }
+        return job.toDTO();
+    }
+
+    private void process(ImportJob job) {
+        try {
+            WorkloadClass.runAs(WorkloadClass.BULK, () -> taskImportWorker.run(job));
+        } finally {
+            delete(job.getFile());
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import file {}", file, ex);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            // forget the oldest finished jobs; queued and running ones are kept so they stay observable
+            var finished = jobs.values().stream().filter(ImportJob::isFinished).count();
+            var iterator = jobs.values().iterator();
+            while (finished > importProperties.getRetainedJobs() && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                    finished--;
+                }
+            }
+        }
+    }
+
+    private void unregister(ImportJob job) {
+        synchronized (jobs) {
+            jobs.remove(job.getId());
+        }
+    }
+
+    public record Upload(TaskExportFormat format, Path file, String digest) {
+    }
+}
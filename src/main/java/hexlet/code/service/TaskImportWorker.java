@@ -0,0 +1,389 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.ImportProperties;
+import hexlet.code.component.TaskWriteVersion;
+import hexlet.code.dto.ImportErrorDTO;
+import hexlet.code.dto.TaskExportFormat;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a spooled upload row by row and writes it in chunks, one transaction per chunk. Statuses, assignees and
+ * labels are looked up once per chunk, and the persistence context ends with each transaction, so memory is
+ * bounded by the chunk size rather than by the file.
+ */
+@Service
+@Slf4j
+public class TaskImportWorker {
+
+    // tasks.name and tasks.description are varchar(255)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    @Autowired
+    private CacheInvalidationLog cacheInvalidationLog;
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    void run(ImportJob job) {
+        job.start();
+        try (var reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8)) {
+            var source = job.getFormat() == TaskExportFormat.CSV
+                    ? new CsvSource(job, new CsvReader(reader, importProperties.getMaxFieldLength()))
+                    : new NdjsonSource(job, reader);
+            var chunkSize = importProperties.getChunkSize();
+            var chunk = new ArrayList<TaskImportRow>(chunkSize);
+            while (true) {
+                var row = source.next();
+                if (row == null) {
+                    break;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk);
+            }
+            job.complete();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Import {} failed", job.getId(), ex);
+            job.fail(ex.getMessage());
+        }
+    }
+
+    private void importChunk(ImportJob job, List<TaskImportRow> rows) {
+        var errors = new ArrayList<ImportErrorDTO>();
+        int imported;
+        try {
+            var transaction = new TransactionTemplate(transactionManager);
+            imported = transaction.execute(status -> persist(rows, errors));
+        } catch (RuntimeException ex) {
+            log.warn("Import {} lost a chunk of {} rows", job.getId(), rows.size(), ex);
+            rows.forEach(row -> job.rowFailed(row.row(), "Chunk rolled back: " + ex.getMessage()));
+            return;
+        }
+        errors.forEach(error -> job.rowFailed(error.getRow(), error.getMessage()));
+        job.imported(imported);
+    }
+
+    private int persist(List<TaskImportRow> rows, List<ImportErrorDTO> errors) {
+        taskWriteVersion.bump();
+
+        var slugs = new HashSet<String>();
+        var assigneeIds = new HashSet<Long>();
+        var labelIds = new HashSet<Long>();
+        for (var row : rows) {
+            if (row.status() != null) {
+                slugs.add(row.status());
+            }
+            if (row.assigneeId() != null) {
+                assigneeIds.add(row.assigneeId());
+            }
+            labelIds.addAll(row.labelIds());
+        }
+        var statuses = byKey(taskStatusRepository.findBySlugIn(slugs), TaskStatus::getSlug);
+        var assignees = byKey(userRepository.findAllById(assigneeIds), User::getId);
+        var labels = byKey(labelRepository.findByIdIn(labelIds), Label::getId);
+        var lastRanks = new HashMap<Long, Long>();
+
+        var tasks = new ArrayList<Task>(rows.size());
+        for (var row : rows) {
+            var status = statuses.get(row.status());
+            var error = validate(row, status, assignees, labels);
+            if (error != null) {
+                errors.add(new ImportErrorDTO(row.row(), error));
+                continue;
+            }
+
+            var task = new Task();
+            task.setName(row.title());
+            task.setDescription(row.content());
+            task.setIndex(row.index());
+            task.setTaskStatus(status);
+            task.setAssignee(row.assigneeId() == null ? null : assignees.get(row.assigneeId()));
+            row.labelIds().forEach(id -> task.getLabels().add(labels.get(id)));
+
+            var lastRank = lastRanks.computeIfAbsent(status.getId(), id -> {
+                var max = taskRepository.findMaxRank(status);
+                return max == null ? 0L : max;
+            });
+            task.setRank(lastRank + TaskService.RANK_STEP);
+            lastRanks.put(status.getId(), task.getRank());
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        cacheInvalidationLog.append(CacheRegion.TASK, null);
+        return tasks.size();
+    }
+
+    private static String validate(TaskImportRow row, TaskStatus status, Map<Long, User> assignees,
+                                   Map<Long, Label> labels) {
+        if (row.title() == null || row.title().isBlank()) {
+            return "title is required";
+        }
+        if (row.title().length() > MAX_TEXT_LENGTH) {
+            return "title is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (row.content() != null && row.content().length() > MAX_TEXT_LENGTH) {
+            return "content is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (status == null) {
+            return "unknown status: " + row.status();
+        }
+        if (row.assigneeId() != null && !assignees.containsKey(row.assigneeId())) {
+            return "unknown assignee_id: " + row.assigneeId();
+        }
+        for (var labelId : row.labelIds()) {
+            if (!labels.containsKey(labelId)) {
+                return "unknown label id: " + labelId;
+            }
+        }
+        return null;
+    }
+
+    private static <K, V> Map<K, V> byKey(Collection<V> values, Function<V, K> key) {
+        return values.stream().collect(Collectors.toMap(key, Function.identity()));
+    }
+
+    private interface RowSource {
+        /**
+         * Returns the next well-formed row, or null at the end of input. Malformed rows are reported to the job.
+         */
+        TaskImportRow next() throws IOException;
+    }
+
+    private final class NdjsonSource implements RowSource {
+
+        private final ImportJob job;
+
+        private final BufferedReader reader;
+
+        private long line;
+
+        NdjsonSource(ImportJob job, BufferedReader reader) {
+            this.job = job;
+            this.reader = reader;
+        }
+
+        @Override
+        public TaskImportRow next() throws IOException {
+            while (true) {
+                var text = readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                job.processed(1);
+                try {
+                    return parse(objectMapper.readTree(text));
+                } catch (JsonProcessingException ex) {
+                    job.rowFailed(line, "malformed JSON: " + ex.getOriginalMessage());
+                } catch (IllegalArgumentException ex) {
+                    job.rowFailed(line, ex.getMessage());
+                }
+            }
+        }
+
+        // like BufferedReader.readLine, but a line without a break cannot grow past the configured length
+        private String readLine() throws IOException {
+            var c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            var text = new StringBuilder();
+            while (c != -1 && c != '\n') {
+                if (text.length() >= importProperties.getMaxLineLength()) {
+                    throw new IOException("Line " + (line + 1) + " is longer than "
+                            + importProperties.getMaxLineLength() + " characters");
+                }
+                text.append((char) c);
+                c = reader.read();
+            }
+            if (!text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+                text.setLength(text.length() - 1);
+            }
+            return text.toString();
+        }
+
+        private TaskImportRow parse(JsonNode node) {
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("expected a JSON object");
+            }
+            var labelIds = new ArrayList<Long>();
+            var labels = node.path("taskLabelIds");
+            if (!labels.isMissingNode() && !labels.isNull()) {
+                if (!labels.isArray()) {
+                    throw new IllegalArgumentException("taskLabelIds must be an array");
+                }
+                labels.forEach(label -> labelIds.add(number(label, "taskLabelIds")));
+            }
+            var index = node.path("index");
+            return new TaskImportRow(line, text(node, "title"), text(node, "content"),
+                    index.isMissingNode() || index.isNull() ? null : toIndex(number(index, "index")),
+                    text(node, "status"), assigneeId(node.path("assignee_id")), labelIds);
+        }
+
+        private static String text(JsonNode node, String field) {
+            var value = node.path(field);
+            return value.isMissingNode() || value.isNull() ? null : value.asText();
+        }
+
+        private static Long assigneeId(JsonNode node) {
+            if (node.isMissingNode() || node.isNull()) {
+                return null;
+            }
+            var id = number(node, "assignee_id");
+            // the export writes 0 for unassigned tasks
+            return id == 0 ? null : id;
+        }
+
+        private static long number(JsonNode node, String field) {
+            if (!node.canConvertToLong() || !node.isIntegralNumber() && !node.isTextual()) {
+                throw new IllegalArgumentException(field + " must be an integer");
+            }
+            return node.isTextual() ? parseLong(node.asText(), field) : node.asLong();
+        }
+    }
+
+    private final class CsvSource implements RowSource {
+
+        private final ImportJob job;
+
+        private final CsvReader reader;
+
+        private Map<String, Integer> columns;
+
+        private long record;
+
+        CsvSource(ImportJob job, CsvReader reader) {
+            this.job = job;
+            this.reader = reader;
+        }
+
+        @Override
+        public TaskImportRow next() throws IOException {
+            if (columns == null) {
+                var header = reader.readRecord();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+            while (true) {
+                var values = reader.readRecord();
+                if (values == null) {
+                    return null;
+                }
+                record++;
+                if (values.size() == 1 && values.get(0).isEmpty()) {
+                    continue;
+                }
+                job.processed(1);
+                try {
+                    return parse(values);
+                } catch (IllegalArgumentException ex) {
+                    job.rowFailed(record, ex.getMessage());
+                }
+            }
+        }
+
+        private TaskImportRow parse(List<String> values) {
+            var labelIds = new ArrayList<Long>();
+            var labels = value(values, "taskLabelIds");
+            if (labels != null) {
+                for (var label : labels.trim().split("\\s+")) {
+                    labelIds.add(parseLong(label, "taskLabelIds"));
+                }
+            }
+            var index = value(values, "index");
+            var assigneeId = value(values, "assignee_id");
+            return new TaskImportRow(record, value(values, "title"), value(values, "content"),
+                    index == null ? null : toIndex(parseLong(index, "index")),
+                    value(values, "status"),
+                    assigneeId == null ? null : parseLong(assigneeId, "assignee_id"),
+                    labelIds);
+        }
+
+        private String value(List<String> values, String column) {
+            var position = columns.get(column);
+            if (position == null || position >= values.size() || values.get(position).isBlank()) {
+                return null;
+            }
+            return values.get(position);
+        }
+    }
+
+    private static long parseLong(String value, String field) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(field + " must be an integer");
+        }
+    }
+
+    private static int toIndex(long value) {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("index is out of range");
+        }
+        return (int) value;
+    }
+}
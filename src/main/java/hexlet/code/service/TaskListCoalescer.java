@@ -0,0 +1,68 @@
+package hexlet.code.service;
+
+import hexlet.code.component.CoalescingProperties;
+import hexlet.code.component.TaskWriteVersion;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.utils.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+@Service
+public class TaskListCoalescer {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    private final CoalescingProperties coalescingProperties;
+
+    private final SingleFlight<Key, TaskList> flights;
+
+    public TaskListCoalescer(CoalescingProperties coalescingProperties) {
+        this.coalescingProperties = coalescingProperties;
+        this.flights = new SingleFlight<>(coalescingProperties.getStaleness().toNanos(),
+                coalescingProperties.getMaxEntries());
+    }
+
+    public boolean isEnabled() {
+        return coalescingProperties.isEnabled();
+    }
+
+    /**
+     * Renders the task list once for all concurrent requests with the same filter and hands each of them
+     * the same serialized body. Returns empty when the filter matches more than {@code app.coalescing.max-tasks}
+     * tasks; such a list is streamed instead of being buffered whole in memory.
+     */
+    public Optional<TaskList> list(TaskFilterDTO filter) throws IOException {
+        var key = new Key(filter.getTitleCont(), filter.getAssigneeId(), filter.getStatus(), filter.getLabelId(),
+                filter.isIncludeArchived());
+        var taskList = flights.get(key, taskWriteVersion.current(), () -> render(filter));
+        return taskList.body() == null ? Optional.empty() : Optional.of(taskList);
+    }
+
+    // an oversized result is shared without a body, so concurrent callers skip the count as well
+    private TaskList render(TaskFilterDTO filter) throws IOException {
+        var total = taskService.count(filter);
+        if (total > coalescingProperties.getMaxTasks()) {
+            return new TaskList(total, null);
+        }
+        var out = new ByteArrayOutputStream();
+        var rendered = new long[1];
+        taskService.writeAll(filter, count -> {
+            rendered[0] = count;
+        }, out);
+        return new TaskList(rendered[0], out.toByteArray());
+    }
+
+    public record TaskList(long total, byte[] body) {
+    }
+
+    private record Key(String titleCont, Long assigneeId, String status, Long labelId, boolean includeArchived) {
+    }
+}
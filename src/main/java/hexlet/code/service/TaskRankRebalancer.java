@@ -0,0 +1,57 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskWriteVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+
+@Service
+@Slf4j
+public class TaskRankRebalancer {
+
+    private static final String SELECT_COLUMN = """
+            select id from tasks
+            where status_id = ?
+            order by sort_rank, id
+            for update""";
+
+    private static final String UPDATE_RANK = "update tasks set sort_rank = ? where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    @Autowired
+    private CacheInvalidationLog cacheInvalidationLog;
+
+    @Async
+    @Transactional
+    public void rebalanceLater(long statusId) {
+        respread(statusId);
+    }
+
+    @Transactional
+    public void rebalance(long statusId) {
+        respread(statusId);
+    }
+
+    // locks the column and spreads its ranks evenly again, keeping the current order
+    private void respread(long statusId) {
+        taskWriteVersion.bump();
+        var ids = jdbcTemplate.queryForList(SELECT_COLUMN, Long.class, statusId);
+        var args = new ArrayList<Object[]>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            args.add(new Object[] {(i + 1) * TaskService.RANK_STEP, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_RANK, args);
+        cacheInvalidationLog.append(CacheRegion.TASK, null);
+        log.info("Rebalanced ranks of {} tasks in status {}", ids.size(), statusId);
+    }
+}
@@ -1,30 +1,52 @@
 package hexlet.code.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.TaskWriteVersion;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.dto.TaskUpdateDTO;
 import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.dto.TaskMoveDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
+import hexlet.code.mapper.TaskRowWriter;
 import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.ArchivedTaskRepository;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskRowRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.specification.TaskSpecification;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    private static final int LIST_FETCH_SIZE = 500;
+
+    public static final long RANK_STEP = 1L << 16;
+
+    // once neighbours get this close the column is respread in the background
+    private static final long MIN_RANK_GAP = 16;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -44,9 +66,36 @@ public class TaskService {
     @Autowired
     private TaskStatusRepository taskStatusRepository;
 
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskRowRepository taskRowRepository;
+
+    @Autowired
+    private TaskRowWriter taskRowWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRankRebalancer taskRankRebalancer;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    @Autowired
+    private CacheInvalidationLog cacheInvalidationLog;
+
+    @Transactional
     public TaskDTO create(TaskCreateDTO taskCreateDTO) {
+       taskWriteVersion.bump();
        try {
            var task = taskMapper.map(taskCreateDTO);
+           task.setRank(nextRank(task.getTaskStatus()));
 
            var assignee = task.getAssignee();
            if (assignee != null) {
@@ -60,6 +109,7 @@ public class TaskService {
            labels.forEach(label -> label.addTask(task));
 
            taskRepository.save(task);
+           cacheInvalidationLog.append(CacheRegion.TASK, task.getId());
            return taskMapper.map(task);
 
        } catch (NoSuchElementException ex) {
@@ -67,30 +117,55 @@ public class TaskService {
        }
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAll() {
         return taskRepository.findAll().stream()
                 .map(taskMapper::map).toList();
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAll(TaskFilterDTO taskFilterDTO) {
         var filter = taskSpecification.build(taskFilterDTO);
-        var tasks = taskRepository.findAll(filter);
+        var tasks = taskRepository.findAll(filter, Sort.by("taskStatus.id", "rank", "id"));
         return tasks.stream()
                 .map(taskMapper::map)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public long count(TaskFilterDTO taskFilterDTO) {
+        return taskRowRepository.count(taskFilterDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeAll(TaskFilterDTO taskFilterDTO, LongConsumer totalCount, OutputStream out) throws IOException {
+        totalCount.accept(taskRowRepository.count(taskFilterDTO));
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            taskRowRepository.forEach(taskFilterDTO, LIST_FETCH_SIZE, row -> taskRowWriter.writeJson(generator, row));
+            generator.writeEndArray();
+        }
+    }
+
+    @Transactional(readOnly = true)
     public TaskDTO findById(Long id) {
-        var task = taskRepository.findById(id)
+        return taskRepository.findWithContentById(id)
+                .map(taskMapper::map)
+                .or(() -> archivedTaskRepository.findById(id).map(taskMapper::map))
                 .orElseThrow(() -> new ResourceNotFoundException("Task With Id: " + id + " Not Found"));
-        return taskMapper.map(task);
     }
 
+    @Transactional
     public TaskDTO update(TaskUpdateDTO taskUpdateDTO, Long id) {
+        taskWriteVersion.bump();
         try {
-            var task = taskRepository.findById(id)
+            var task = taskRepository.findWithContentById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Task With Id: " + id + " Not Found"));
+            var previousStatusId = task.getTaskStatus().getId();
             taskMapper.update(taskUpdateDTO, task);
+            if (task.getTaskStatus().getId() != previousStatusId) {
+                task.setRank(nextRank(task.getTaskStatus()));
+            }
 
             var assignee = task.getAssignee();
             if (assignee != null) {
@@ -109,13 +184,105 @@ public class TaskService {
 
 
             taskRepository.save(task);
+            cacheInvalidationLog.append(CacheRegion.TASK, id);
             return taskMapper.map(task);
         } catch (NoSuchElementException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
         }
     }
 
+    @Transactional
+    public TaskDTO move(Long id, TaskMoveDTO taskMoveDTO) {
+        taskWriteVersion.bump();
+        var task = taskRepository.findWithContentById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task With Id: " + id + " Not Found"));
+        if (id.equals(taskMoveDTO.getBefore()) || id.equals(taskMoveDTO.getAfter())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Task can not be moved next to itself");
+        }
+        var status = taskStatusRepository.findBySlug(taskMoveDTO.getStatus())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Task Status With Slug: " + taskMoveDTO.getStatus() + " Not Found"));
+
+        var bounds = rankBounds(id, status, taskMoveDTO);
+        if (bounds[0] != null && bounds[1] != null && bounds[1] - bounds[0] < 2) {
+            // no free key left between the neighbours, respread the column right away and look again
+            taskRankRebalancer.rebalance(status.getId());
+            // the respread went through JDBC, so drop the entities that still carry the old ranks
+            entityManager.clear();
+            task = taskRepository.findWithContentById(id).orElseThrow();
+            status = taskStatusRepository.findById(status.getId()).orElseThrow();
+            bounds = rankBounds(id, status, taskMoveDTO);
+        }
+
+        if (bounds[0] != null && bounds[1] != null && (bounds[1] - bounds[0]) / 2 < MIN_RANK_GAP) {
+            rebalanceAfterCommit(status.getId());
+        }
+
+        task.setTaskStatus(status);
+        task.setRank(rankBetween(bounds[0], bounds[1]));
+        taskRepository.save(task);
+        cacheInvalidationLog.append(CacheRegion.TASK, id);
+        return taskMapper.map(task);
+    }
+
+    @Transactional
     public void delete(Long id) {
+        taskWriteVersion.bump();
         taskRepository.deleteById(id);
+        cacheInvalidationLog.append(CacheRegion.TASK, id);
+    }
+
+    private long nextRank(TaskStatus status) {
+        var max = taskRepository.findMaxRank(status);
+        return max == null ? RANK_STEP : max + RANK_STEP;
+    }
+
+    private Long[] rankBounds(long movedId, TaskStatus status, TaskMoveDTO taskMoveDTO) {
+        Long lower;
+        Long upper;
+        if (taskMoveDTO.getAfter() != null) {
+            lower = rankOf(taskMoveDTO.getAfter(), status);
+            upper = taskMoveDTO.getBefore() != null
+                    ? rankOf(taskMoveDTO.getBefore(), status)
+                    : taskRepository.findMinRankAbove(status, lower, movedId);
+        } else if (taskMoveDTO.getBefore() != null) {
+            upper = rankOf(taskMoveDTO.getBefore(), status);
+            lower = taskRepository.findMaxRankBelow(status, upper, movedId);
+        } else {
+            lower = taskRepository.findMaxRankExcluding(status, movedId);
+            upper = null;
+        }
+        if (lower != null && upper != null && lower >= upper) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Task 'after' must precede task 'before'");
+        }
+        return new Long[] {lower, upper};
+    }
+
+    private long rankOf(long taskId, TaskStatus status) {
+        return taskRepository.findRankInStatus(taskId, status)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Task With Id: " + taskId + " Not Found In Status: " + status.getSlug()));
+    }
+
+    private static long rankBetween(Long lower, Long upper) {
+        if (lower == null && upper == null) {
+            return RANK_STEP;
+        }
+        if (upper == null) {
+            return lower + RANK_STEP;
+        }
+        if (lower == null) {
+            return upper - RANK_STEP;
+        }
+        return lower + (upper - lower) / 2;
+    }
+
+    private void rebalanceAfterCommit(long statusId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                taskRankRebalancer.rebalanceLater(statusId);
+            }
+        });
     }
 }
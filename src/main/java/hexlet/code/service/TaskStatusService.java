@@ -1,5 +1,7 @@
 package hexlet.code.service;
 
+import hexlet.code.component.TaskWriteVersion;
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
@@ -8,6 +10,7 @@ import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.repository.TaskStatusRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -20,12 +23,22 @@ public class TaskStatusService {
     @Autowired
     private TaskStatusMapper taskStatusMapper;
 
+    @Autowired
+    private CacheInvalidationLog cacheInvalidationLog;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    @Transactional
     public TaskStatusDTO create(TaskStatusCreateDTO taskStatusCreateDTO) {
+        taskWriteVersion.bump();
         var taskStatus = taskStatusMapper.map(taskStatusCreateDTO);
         taskStatusRepository.save(taskStatus);
+        cacheInvalidationLog.append(CacheRegion.TASK_STATUS, taskStatus.getId());
         return taskStatusMapper.map(taskStatus);
     }
 
+    @Transactional(readOnly = true)
     public List<TaskStatusDTO> getAll() {
         var taskStatuses = taskStatusRepository.findAll();
         return taskStatuses.stream()
@@ -33,21 +46,33 @@ public class TaskStatusService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<TaskCountDTO> getTaskCounts() {
+        return taskStatusRepository.countTasks();
+    }
+
+    @Transactional(readOnly = true)
     public TaskStatusDTO findById(Long id) {
         var taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus With Id: " + id + " Not Found"));
         return taskStatusMapper.map(taskStatus);
     }
 
+    @Transactional
     public TaskStatusDTO update(TaskStatusUpdateDTO taskStatusUpdateDTO, Long id) {
+        taskWriteVersion.bump();
         var taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus With Id: " + id + " Not Found"));
         taskStatusMapper.update(taskStatusUpdateDTO, taskStatus);
         taskStatusRepository.save(taskStatus);
+        cacheInvalidationLog.append(CacheRegion.TASK_STATUS, id);
         return taskStatusMapper.map(taskStatus);
     }
 
+    @Transactional
     public void delete(Long id) {
+        taskWriteVersion.bump();
         taskStatusRepository.deleteById(id);
+        cacheInvalidationLog.append(CacheRegion.TASK_STATUS, id);
     }
 }
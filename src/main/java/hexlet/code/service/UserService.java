@@ -1,5 +1,7 @@
 package hexlet.code.service;
 
+import hexlet.code.component.TaskWriteVersion;
+import hexlet.code.dto.TaskCountDTO;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
@@ -9,6 +11,7 @@ import hexlet.code.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -22,6 +25,13 @@ public class UserService {
     @Autowired
     private final UserMapper userMapper;
 
+    @Autowired
+    private final CacheInvalidationLog cacheInvalidationLog;
+
+    @Autowired
+    private final TaskWriteVersion taskWriteVersion;
+
+    @Transactional(readOnly = true)
     public List<UserDTO> getAll() {
         var users = userRepository.findAll();
         return users.stream()
@@ -29,27 +39,42 @@ public class UserService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<TaskCountDTO> getTaskCounts() {
+        return userRepository.countTasks();
+    }
+
+    @Transactional
     public UserDTO create(UserCreateDTO userData) {
+        taskWriteVersion.bump();
         var user = userMapper.map(userData);
         userRepository.save(user);
+        cacheInvalidationLog.append(CacheRegion.USER, user.getId());
         return userMapper.map(user);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO findById(Long id) {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User With ID " + id + " Not Found"));
         return userMapper.map(user);
     }
 
+    @Transactional
     public UserDTO update(UserUpdateDTO userData, Long id) {
+        taskWriteVersion.bump();
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User With ID " + id + " Not Found"));
         userMapper.update(userData, user);
         userRepository.save(user);
+        cacheInvalidationLog.append(CacheRegion.USER, id);
         return userMapper.map(user);
     }
 
+    @Transactional
     public void delete(Long id) throws Exception {
+        taskWriteVersion.bump();
         userRepository.deleteById(id);
+        cacheInvalidationLog.append(CacheRegion.USER, id);
     }
 }
@@ -0,0 +1,89 @@
+package hexlet.code.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time: quoted fields may contain commas, doubled quotes and line breaks.
+ * Only the current record is held in memory.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+
+    private final int maxFieldLength;
+
+    private int pending = -2;
+
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Returns the next record, or null at the end of input.
+     */
+    public List<String> readRecord() throws IOException {
+        var c = read();
+        if (c == -1) {
+            return null;
+        }
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    var next = read();
+                    if (next == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    var next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void append(StringBuilder field, char c) throws IOException {
+        if (field.length() >= maxFieldLength) {
+            throw new IOException("Field longer than " + maxFieldLength + " characters");
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            var c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -3,6 +3,8 @@ package hexlet.code.utils;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
+import hexlet.code.component.AdminProperties;
+import hexlet.code.config.SecurityConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -15,14 +17,19 @@ public class JWTUtils {
     @Autowired
     private JwtEncoder encoder;
 
+    @Autowired
+    private AdminProperties adminProperties;
+
     public String generateToken(String username) {
         Instant now = Instant.now();
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        var claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
                 .expiresAt(now.plus(1, ChronoUnit.HOURS))
-                .subject(username)
-                .build();
-        return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+                .subject(username);
+        if (adminProperties.getEmails().contains(username)) {
+            claims.claim("scope", SecurityConfig.ADMIN_SCOPE);
+        }
+        return this.encoder.encode(JwtEncoderParameters.from(claims.build())).getTokenValue();
     }
 }
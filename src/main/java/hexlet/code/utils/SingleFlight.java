@@ -0,0 +1,103 @@
+package hexlet.code.utils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets concurrent callers asking for the same key share one load. A finished result keeps being served for
+ * the staleness window, but only to callers that saw the same data version when they started, so anything
+ * loaded before a write is never handed to a request that began after it.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final long stalenessNanos;
+
+    private final int maxEntries;
+
+    public SingleFlight(long stalenessNanos, int maxEntries) {
+        this.stalenessNanos = stalenessNanos;
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(K key, long version, Loader<V> loader) throws IOException {
+        while (true) {
+            var current = flights.get(key);
+            if (current != null && current.isReusable(version, System.nanoTime(), stalenessNanos)) {
+                return current.await();
+            }
+            var flight = new Flight<V>(version);
+            var won = current == null
+                    ? flights.putIfAbsent(key, flight) == null
+                    : flights.replace(key, current, flight);
+            if (won) {
+                if (flights.size() > maxEntries) {
+                    evict(System.nanoTime());
+                }
+                return load(key, flight, loader);
+            }
+        }
+    }
+
+    private V load(K key, Flight<V> flight, Loader<V> loader) throws IOException {
+        try {
+            var value = loader.load();
+            flight.completedAt = System.nanoTime();
+            flight.future.complete(value);
+            return value;
+        } catch (IOException | RuntimeException | Error ex) {
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private void evict(long now) {
+        flights.values().removeIf(flight -> flight.future.isDone() && now - flight.completedAt > stalenessNanos);
+    }
+
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws IOException;
+    }
+
+    private static final class Flight<V> {
+
+        private final long version;
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        private volatile long completedAt;
+
+        Flight(long version) {
+            this.version = version;
+        }
+
+        boolean isReusable(long currentVersion, long now, long stalenessNanos) {
+            if (version != currentVersion || future.isCompletedExceptionally()) {
+                return false;
+            }
+            return !future.isDone() || now - completedAt <= stalenessNanos;
+        }
+
+        V await() throws IOException {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof IOException cause) {
+                    throw cause;
+                }
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (ex.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+    }
+}
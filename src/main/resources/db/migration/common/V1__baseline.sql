@@ -0,0 +1,38 @@
+create table users (
+    id bigint generated by default as identity primary key,
+    email varchar(255) unique,
+    first_name varchar(255),
+    last_name varchar(255),
+    password_digest varchar(255),
+    updated_at date,
+    created_at date
+);
+
+create table statuses (
+    id bigint generated by default as identity primary key,
+    name varchar(255) unique,
+    slug varchar(255) unique,
+    created_at date
+);
+
+create table labels (
+    id bigint generated by default as identity primary key,
+    name varchar(1000) unique,
+    created_at date
+);
+
+create table tasks (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    index integer,
+    description varchar(255),
+    status_id bigint not null references statuses (id),
+    assignee_id bigint references users (id),
+    created_at date
+);
+
+create table tasks_labels (
+    task_id bigint not null references tasks (id),
+    labels_id bigint not null references labels (id),
+    primary key (task_id, labels_id)
+);
@@ -0,0 +1,6 @@
+-- TaskSpecification / TaskRowRepository: status, assignee and label filters
+create index idx_tasks_status_id on tasks (status_id);
+create index idx_tasks_assignee_id on tasks (assignee_id);
+-- the primary key already covers lookups by task_id; this one serves the label side of the join
+create index idx_tasks_labels_labels_id on tasks_labels (labels_id, task_id);
+create index idx_tasks_created_at on tasks (created_at);
@@ -0,0 +1,19 @@
+alter table tasks add column updated_at date;
+
+create index idx_tasks_status_id_updated_at on tasks (status_id, updated_at);
+
+create table archived_tasks (
+    id bigint primary key,
+    name varchar(255),
+    index integer,
+    description varchar(255),
+    status_slug varchar(255),
+    assignee_id bigint,
+    label_ids varchar(1000),
+    created_at date,
+    finished_at date,
+    archived_at date
+);
+
+create index idx_archived_tasks_assignee_id on archived_tasks (assignee_id);
+create index idx_archived_tasks_status_slug on archived_tasks (status_slug);
@@ -0,0 +1,6 @@
+-- sparse ordering key inside a status column; moves pick a value between the neighbours
+alter table tasks add column sort_rank bigint;
+
+update tasks set sort_rank = id * 65536;
+
+create index idx_tasks_status_id_sort_rank on tasks (status_id, sort_rank, id);
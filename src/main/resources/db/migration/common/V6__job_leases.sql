@@ -0,0 +1,20 @@
+create table job_leases (
+    name varchar(100) primary key,
+    owner varchar(255),
+    lease_until timestamp,
+    checkpoint varchar(1000)
+);
+
+create table job_runs (
+    id bigint generated by default as identity primary key,
+    job_name varchar(100) not null,
+    owner varchar(255) not null,
+    started_at timestamp not null,
+    finished_at timestamp,
+    status varchar(20) not null,
+    chunks integer not null,
+    items bigint not null,
+    message varchar(1000)
+);
+
+create index idx_job_runs_job_name_id on job_runs (job_name, id);
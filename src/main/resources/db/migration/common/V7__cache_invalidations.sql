@@ -0,0 +1,9 @@
+create table cache_invalidations (
+    id bigint generated by default as identity primary key,
+    region varchar(20) not null,
+    entity_id bigint,
+    node varchar(255) not null,
+    created_at timestamp not null
+);
+
+create index idx_cache_invalidations_created_at on cache_invalidations (created_at);
@@ -0,0 +1,8 @@
+-- tasks are archived by how long they have been in their status, not by their last edit
+alter table tasks add column status_changed_at date;
+
+update tasks set status_changed_at = coalesce(updated_at, created_at);
+
+drop index idx_tasks_status_id_updated_at;
+
+create index idx_tasks_status_id_status_changed_at on tasks (status_id, status_changed_at);
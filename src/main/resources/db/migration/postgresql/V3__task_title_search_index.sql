@@ -0,0 +1,3 @@
+-- titleCont filters with lower(name) like '%...%', which only a trigram index can serve
+create extension if not exists pg_trgm;
+create index idx_tasks_lower_name_trgm on tasks using gin (lower(name) gin_trgm_ops);
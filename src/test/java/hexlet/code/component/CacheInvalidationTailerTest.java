@@ -0,0 +1,132 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.LabelCreateDTO;
+import hexlet.code.repository.CacheInvalidationRepository;
+import hexlet.code.service.CacheInvalidationLog;
+import hexlet.code.service.CacheRegion;
+import hexlet.code.service.LabelService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "app.cache-invalidation.enabled=true",
+    "app.cache-invalidation.poll-interval=PT1H",
+    "app.cache-invalidation.batch-size=2",
+    "app.cache-invalidation.max-batches-per-poll=2"
+})
+public class CacheInvalidationTailerTest {
+
+    @Autowired
+    private CacheInvalidationTailer tailer;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private TaskWriteVersion taskWriteVersion;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationLog cacheInvalidationLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void clean() {
+        jdbcTemplate.update("delete from labels where name like 'invalidation-%'");
+        jdbcTemplate.update("delete from cache_invalidations");
+    }
+
+    @Test
+    public void testWritesAreLoggedButNotAppliedLocally() {
+        var before = cacheInvalidationRepository.findMaxId();
+        var label = new LabelCreateDTO();
+        label.setName("invalidation-label");
+        labelService.create(label);
+
+        var entries = cacheInvalidationRepository.findAfter(before, 10);
+        assertThat(entries).singleElement()
+                .satisfies(entry -> assertThat(entry.region()).isEqualTo("LABEL"));
+
+        tailer.poll();
+        var version = taskWriteVersion.current();
+        tailer.poll();
+        assertThat(taskWriteVersion.current()).isEqualTo(version);
+    }
+
+    @Test
+    public void testLocalWritesReachListenersAfterCommit() {
+        var transaction = new TransactionTemplate(transactionManager);
+        var version = taskWriteVersion.current();
+
+        transaction.executeWithoutResult(status -> {
+            cacheInvalidationLog.append(CacheRegion.USER, 1L);
+            assertThat(taskWriteVersion.current()).isEqualTo(version);
+        });
+        assertThat(taskWriteVersion.current()).isEqualTo(version + 1);
+
+        transaction.executeWithoutResult(status -> {
+            cacheInvalidationLog.append(CacheRegion.USER, 1L);
+            status.setRollbackOnly();
+        });
+        assertThat(taskWriteVersion.current()).isEqualTo(version + 1);
+    }
+
+    @Test
+    public void testRemoteRecordsAreAppliedOnceAndCursorWaitsForGrace() {
+        tailer.poll();
+        var cursor = tailer.getCursor();
+        var version = taskWriteVersion.current();
+        var received = meterRegistry.counter("cache.invalidation.received").count();
+
+        var now = Instant.now();
+        cacheInvalidationRepository.append("TASK", 1L, "other-node", now.minusSeconds(3600));
+        cacheInvalidationRepository.append("TASK", 2L, "other-node", now);
+        cacheInvalidationRepository.append("USER", null, "other-node", now);
+        var oldest = cacheInvalidationRepository.findAfter(cursor, 1).get(0);
+
+        tailer.poll();
+        assertThat(taskWriteVersion.current()).isEqualTo(version + 3);
+        assertThat(meterRegistry.counter("cache.invalidation.received").count()).isEqualTo(received + 3);
+        // only the record older than the commit grace period is settled
+        assertThat(tailer.getCursor()).isEqualTo(oldest.id());
+
+        tailer.poll();
+        assertThat(taskWriteVersion.current()).isEqualTo(version + 3);
+        assertThat(meterRegistry.timer("cache.invalidation.lag").count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    public void testBacklogIsReportedWhenPollIsCapped() {
+        tailer.poll();
+        var now = Instant.now();
+        for (int i = 0; i < 6; i++) {
+            cacheInvalidationRepository.append("LABEL", (long) i, "other-node", now);
+        }
+
+        tailer.poll();
+        assertThat(meterRegistry.get("cache.invalidation.backlog").gauge().value()).isEqualTo(2);
+
+        tailer.poll();
+        assertThat(meterRegistry.get("cache.invalidation.backlog").gauge().value()).isZero();
+    }
+}
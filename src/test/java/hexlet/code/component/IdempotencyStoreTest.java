@@ -0,0 +1,161 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final IdempotencyStore store = new IdempotencyStore(properties(), new ObjectMapper(), now::get);
+
+    @AfterEach
+    public void clean() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testRepeatedKeyIsReplayed() {
+        var calls = new AtomicInteger();
+
+        var first = store.execute("tasks", "key", "body", calls::incrementAndGet);
+        var second = store.execute("tasks", "key", "body", calls::incrementAndGet);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.value()).isEqualTo(1);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(store.execute("users", "key", "body", calls::incrementAndGet).value()).isEqualTo(2);
+    }
+
+    @Test
+    public void testConcurrentDuplicateWaitsForFirstAttempt() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var first = executor.submit(() -> store.execute("tasks", "key", "body", () -> {
+                started.countDown();
+                await(release);
+                return "created";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            var duplicate = Executors.newSingleThreadExecutor().submit(
+                    () -> store.execute("tasks", "key", "body", () -> "duplicate"));
+            Thread.sleep(100);
+            assertThat(duplicate.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).value()).isEqualTo("created");
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).value()).isEqualTo("created");
+            assertThat(duplicate.get().replayed()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsNotStored() {
+        assertThatThrownBy(() -> store.execute("tasks", "key", "body", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.execute("tasks", "key", "body", () -> "retried").replayed()).isFalse();
+    }
+
+    @Test
+    public void testEntriesExpireAndAreBounded() {
+        store.execute("tasks", "a", "body", () -> 1);
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(store.execute("tasks", "a", "body", () -> 2).value()).isEqualTo(2);
+
+        store.execute("tasks", "b", "body", () -> 3);
+        store.execute("tasks", "c", "body", () -> 4);
+        assertThat(store.execute("tasks", "a", "body", () -> 5).value()).isEqualTo(5);
+    }
+
+    @Test
+    public void testKeyReusedWithDifferentRequestIsRejected() {
+        store.execute("tasks", "key", "body", () -> 1);
+
+        assertThatThrownBy(() -> store.execute("tasks", "key", "other body", () -> 2))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode().value()).isEqualTo(422));
+    }
+
+    @Test
+    public void testAnonymousCallersDoNotShareKeys() {
+        onBehalfOf("192.0.2.1");
+        store.execute("users", "key", "body", () -> 1);
+
+        onBehalfOf("192.0.2.2");
+        var other = store.execute("users", "key", "body", () -> 2);
+
+        assertThat(other.replayed()).isFalse();
+        assertThat(other.value()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDuplicateStopsWaitingForSlowAttempt() throws Exception {
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> store.execute("tasks", "key", "body", () -> {
+                await(release);
+                return "created";
+            }));
+            Thread.sleep(100);
+
+            assertThatThrownBy(() -> store.execute("tasks", "key", "body", () -> "duplicate"))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            ex -> assertThat(ex.getStatusCode().value()).isEqualTo(409));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTooLongKeyIsRejected() {
+        assertThatThrownBy(() -> store.execute("tasks", "k".repeat(256), "body", () -> 1))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static IdempotencyProperties properties() {
+        var properties = new IdempotencyProperties();
+        properties.setTtl(Duration.ofSeconds(10));
+        properties.setMaxEntries(2);
+        properties.setMaxWait(Duration.ofMillis(500));
+        return properties;
+    }
+
+    private static void onBehalfOf(String address) {
+        var request = new MockHttpServletRequest();
+        request.setRemoteAddr(address);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package hexlet.code.component;
+
+import hexlet.code.config.SecurityConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.warmup.enabled=true", "app.warmup.iterations=50"})
+@AutoConfigureMockMvc
+public class JitWarmupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    public void testWarmupRecordsMetricsBeforeReady() {
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+
+        var duration = meterRegistry.find("application.warmup.time").timeGauge();
+        assertThat(duration).isNotNull();
+        assertThat(duration.value(TimeUnit.NANOSECONDS)).isPositive();
+
+        var first = meterRegistry.find("application.warmup.iteration").tag("phase", "first").timeGauge();
+        var last = meterRegistry.find("application.warmup.iteration").tag("phase", "last").timeGauge();
+        assertThat(first).isNotNull();
+        assertThat(last).isNotNull();
+        assertThat(last.value(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    public void testProbesAreReachableWithoutToken() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    public void testMetricsRequireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(jwt()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used").with(jwt()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_" + SecurityConfig.ADMIN_SCOPE))))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,122 @@
+package hexlet.code.config;
+
+import hexlet.code.config.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    public void testLowPriorityIsShedFirst() {
+        var limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.2, 2.0, 0.5);
+
+        assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isFalse();
+
+        assertThat(limiter.getRejected(Priority.LOW)).isEqualTo(1);
+        assertThat(limiter.getRejected(Priority.NORMAL)).isEqualTo(1);
+    }
+
+    @Test
+    public void testLimitGrowsWhileLatencyIsFlat() {
+        var limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 2.0, 0.5);
+
+        saturate(limiter, 200, MILLI);
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    public void testLimitShrinksWhenLatencyRises() {
+        var limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 2.0, 0.5);
+        saturate(limiter, 200, MILLI);
+        var grown = limiter.getLimit();
+
+        saturate(limiter, 200, 20 * MILLI);
+
+        assertThat(limiter.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    public void testLowPriorityLatencyDoesNotMoveTheLimit() {
+        var limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 2.0, 0.5);
+        saturate(limiter, 200, MILLI);
+        var limit = limiter.getLimit();
+        var minRtt = limiter.getMinRttNanos();
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+            limiter.release(Priority.LOW, 500 * MILLI, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(limit);
+        assertThat(limiter.getMinRttNanos()).isEqualTo(minRtt);
+    }
+
+    @Test
+    public void testLatencyFloorFollowsWindowMinimum() {
+        var limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 2.0, 0.5);
+        saturate(limiter, 1000, MILLI);
+        assertThat(limiter.getMinRttNanos()).isEqualTo(MILLI);
+
+        // latency alternates between 2 and 20 ms: the floor moves to 2 ms, not to the smoothed average
+        for (int i = 0; i < 2000; i++) {
+            assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+            limiter.release(Priority.NORMAL, (i % 2 == 0 ? 2 : 20) * MILLI, false);
+        }
+
+        assertThat(limiter.getMinRttNanos()).isEqualTo(2 * MILLI);
+    }
+
+    @Test
+    public void testFilterRejectsWith503() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.2, 2.0, 0.5);
+        var filter = new ConcurrencyLimitFilter(limiter, List.of("/api/login"));
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    public void testLoginIsLowPriority() {
+        var filter = new ConcurrencyLimitFilter(new AdaptiveConcurrencyLimiter(4, 1, 10, 0.2, 2.0, 0.5),
+                List.of("/api/login"));
+
+        assertThat(filter.priority(new MockHttpServletRequest("POST", "/api/login"))).isEqualTo(Priority.LOW);
+        assertThat(filter.priority(new MockHttpServletRequest("GET", "/api/tasks"))).isEqualTo(Priority.NORMAL);
+    }
+
+    // keeps the limiter full and completes one request at a time with the given latency
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, int samples, long rttNanos) {
+        fill(limiter);
+        for (int i = 0; i < samples; i++) {
+            limiter.release(Priority.NORMAL, rttNanos, false);
+            fill(limiter);
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.release(Priority.NORMAL, rttNanos, false);
+        }
+    }
+
+    private static void fill(AdaptiveConcurrencyLimiter limiter) {
+        var acquired = true;
+        while (acquired) {
+            acquired = limiter.tryAcquire(Priority.NORMAL);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package hexlet.code.config;
+
+import hexlet.code.component.BulkheadProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Saturates the bulk class and checks that interactive requests and connections are unaffected.
+ */
+public class BulkheadIsolationTest {
+
+    private static final int BULK_CLIENTS = 32;
+
+    private static final int INTERACTIVE_REQUESTS = 500;
+
+    private Bulkheads bulkheads;
+
+    private ExecutorService clients;
+
+    @BeforeEach
+    public void setUp() {
+        var properties = new BulkheadProperties();
+        properties.setMaxWait(Duration.ofMillis(10));
+        properties.setConnectionTimeout(Duration.ofMillis(100));
+        properties.setInteractive(new BulkheadProperties.Budget(4, 2));
+        properties.setBulk(new BulkheadProperties.Budget(2, 1));
+        bulkheads = new Bulkheads(properties);
+        clients = Executors.newFixedThreadPool(BULK_CLIENTS);
+    }
+
+    @AfterEach
+    public void clean() {
+        clients.shutdownNow();
+    }
+
+    @Test
+    public void testSaturatedBulkClassDoesNotSlowInteractiveRequests() throws Exception {
+        var filter = new BulkheadFilter(bulkheads);
+        var release = new CountDownLatch(1);
+        var running = new CountDownLatch(2);
+
+        var bulk = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < BULK_CLIENTS; i++) {
+            bulk.add(clients.submit(() -> {
+                var response = new MockHttpServletResponse();
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/export"), response, (req, res) -> {
+                    running.countDown();
+                    await(release);
+                });
+                return response.getStatus();
+            }));
+        }
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < INTERACTIVE_REQUESTS; i++) {
+            var response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/board"), response,
+                    (req, res) -> assertThat(WorkloadClass.current()).isEqualTo(WorkloadClass.INTERACTIVE));
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        // let every bulk client make its attempt while the two permits are still held
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkheads.getRejectedThreads(WorkloadClass.BULK) < BULK_CLIENTS - 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        var shed = 0;
+        for (var result : bulk) {
+            if (result.get(5, TimeUnit.SECONDS) == 503) {
+                shed++;
+            }
+        }
+        assertThat(shed).isEqualTo(BULK_CLIENTS - 2);
+        assertThat(bulkheads.getRejectedThreads(WorkloadClass.BULK)).isEqualTo(BULK_CLIENTS - 2);
+        assertThat(bulkheads.getRejectedThreads(WorkloadClass.INTERACTIVE)).isZero();
+        // an interactive request never waited for a permit
+        assertThat(bulkheads.getWaitedThreads(WorkloadClass.INTERACTIVE)).isZero();
+        assertThat(WorkloadClass.current()).isNull();
+    }
+
+    @Test
+    public void testBulkConnectionBudgetLeavesInteractiveConnections() throws Exception {
+        var dataSource = new BulkheadDataSource(new DriverManagerDataSource("jdbc:h2:mem:bulkhead"), bulkheads);
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var holder = clients.submit(() -> WorkloadClass.runAs(WorkloadClass.BULK, () -> {
+            try (var connection = dataSource.getConnection()) {
+                holding.countDown();
+                await(release);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        WorkloadClass.runAs(WorkloadClass.BULK, () -> assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class));
+        WorkloadClass.runAs(WorkloadClass.INTERACTIVE, () -> {
+            try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+                assertThat(first.isValid(1)).isTrue();
+                assertThat(second.isValid(1)).isTrue();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(bulkheads.getAvailableConnections(WorkloadClass.BULK)).isEqualTo(1);
+        assertThat(bulkheads.getAvailableConnections(WorkloadClass.INTERACTIVE)).isEqualTo(2);
+        assertThat(bulkheads.getRejectedConnections(WorkloadClass.BULK)).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
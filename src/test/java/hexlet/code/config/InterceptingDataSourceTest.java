@@ -0,0 +1,63 @@
+package hexlet.code.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InterceptingDataSourceTest {
+
+    @Test
+    public void testInterceptorsShareOneLayer() throws Exception {
+        var target = new DriverManagerDataSource("jdbc:h2:mem:intercepting");
+        var calls = new ArrayList<String>();
+
+        var once = InterceptingDataSource.wrap(target, new Recording(calls, "outer"));
+        var twice = InterceptingDataSource.wrap(once, new Named(calls, "inner"));
+
+        assertThat(((InterceptingDataSource) twice).getTargetDataSource()).isSameAs(target);
+        assertThat(InterceptingDataSource.wrap(twice, new Recording(calls, "again"))).isSameAs(twice);
+
+        try (var connection = twice.getConnection();
+             var statement = connection.prepareStatement("select 1")) {
+            statement.executeQuery().close();
+        }
+
+        assertThat(calls).containsExactly("outer:select 1", "inner:select 1", "outer:closed", "inner:closed");
+    }
+
+    private static class Recording implements StatementInterceptor {
+
+        private final List<String> calls;
+
+        private final String name;
+
+        Recording(List<String> calls, String name) {
+            this.calls = calls;
+            this.name = name;
+        }
+
+        @Override
+        public Object execute(Statement statement, String sql, String method, Execution execution)
+                throws Throwable {
+            calls.add(name + ":" + sql);
+            return execution.proceed();
+        }
+
+        @Override
+        public void closed(Statement statement) {
+            calls.add(name + ":closed");
+        }
+    }
+
+    private static final class Named extends Recording {
+
+        Named(List<String> calls, String name) {
+            super(calls, name);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package hexlet.code.config;
+
+import hexlet.code.service.TaskStatusService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.jfr.enabled=true", "app.jfr.threshold=0ms", "app.jfr.max-duration=10s"})
+@AutoConfigureMockMvc
+public class JfrEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskStatusService taskStatusService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testRecordingRequiresAuthentication() throws Exception {
+        mockMvc.perform(start("1s"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRecordingRequiresAdmin() throws Exception {
+        mockMvc.perform(start("1s").with(jwt()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/jfr").with(jwt()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testRecordingIsBounded() throws Exception {
+        mockMvc.perform(start("1m").with(admin()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testRecordingContainsRequestPathEvents() throws Exception {
+        var hash = passwordEncoder.encode("secret");
+        var running = new AtomicBoolean(true);
+        var load = new Thread(() -> {
+            while (running.get()) {
+                taskStatusService.getAll();
+                passwordEncoder.matches("secret", hash);
+                try {
+                    jwtDecoder.decode("not-a-token");
+                } catch (JwtException ex) {
+                    // only the decode event is of interest
+                }
+            }
+        });
+        load.start();
+        byte[] body;
+        try {
+            mockMvc.perform(start("2s").with(admin()))
+                    .andExpect(status().isOk());
+            mockMvc.perform(start("2s").with(admin()))
+                    .andExpect(status().isTooManyRequests());
+            mockMvc.perform(get("/actuator/jfr").with(admin()))
+                    .andExpect(status().isServiceUnavailable());
+            body = download();
+        } finally {
+            running.set(false);
+            load.join();
+        }
+
+        var file = tempDir.resolve("recording.jfr");
+        Files.write(file, body);
+        var events = RecordingFile.readAllEvents(file);
+        var names = events.stream().map(event -> event.getEventType().getName()).distinct().toList();
+        assertThat(names).contains("hexlet.ServiceCall", "hexlet.MapperConversion", "hexlet.SqlExecution",
+                "hexlet.PasswordCheck", "hexlet.JwtDecode");
+        assertThat(events).filteredOn(event -> isType(event, "hexlet.ServiceCall"))
+                .extracting(event -> event.getString("type") + "." + event.getString("method"))
+                .contains("TaskStatusService.getAll");
+        assertThat(events).filteredOn(event -> isType(event, "hexlet.PasswordCheck"))
+                .allMatch(event -> event.getBoolean("matched"));
+        assertThat(names).doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+    }
+
+    private byte[] download() throws Exception {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (true) {
+            var response = mockMvc.perform(get("/actuator/jfr").with(admin())).andReturn().getResponse();
+            if (response.getStatus() != 503 || System.nanoTime() > deadline) {
+                assertThat(response.getStatus()).isEqualTo(200);
+                return response.getContentAsByteArray();
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static MockHttpServletRequestBuilder start(String duration) {
+        return post("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"duration\": \"" + duration + "\"}");
+    }
+
+    private static RequestPostProcessor admin() {
+        return jwt().authorities(new SimpleGrantedAuthority("SCOPE_" + SecurityConfig.ADMIN_SCOPE));
+    }
+
+    private static boolean isType(RecordedEvent event, String name) {
+        return event.getEventType().getName().equals(name);
+    }
+}
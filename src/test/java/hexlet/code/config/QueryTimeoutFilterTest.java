@@ -0,0 +1,128 @@
+package hexlet.code.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class QueryTimeoutFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DataSource dataSource;
+
+    private QueryTimeoutFilter filter;
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = InterceptingDataSource.wrap(new DriverManagerDataSource("jdbc:h2:mem:query-timeout"),
+                new QueryTimeoutInterceptor(counter("db.statement.timeouts"), counter("db.statement.refused")));
+        filter = new QueryTimeoutFilter(Duration.ofSeconds(10),
+                Map.of("/api/tasks", Duration.ofSeconds(5), "/api/tasks/export", Duration.ofMillis(1500)),
+                counter("db.statement.cancelled"));
+        connection = dataSource.getConnection();
+    }
+
+    @AfterEach
+    public void clean() throws SQLException {
+        connection.close();
+        var scope = QueryScope.current();
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    @Test
+    public void testTimeoutByLongestPrefix() {
+        assertThat(filter.timeoutSeconds(new MockHttpServletRequest("GET", "/api/labels"))).isEqualTo(10);
+        assertThat(filter.timeoutSeconds(new MockHttpServletRequest("GET", "/api/tasks/1"))).isEqualTo(5);
+        assertThat(filter.timeoutSeconds(new MockHttpServletRequest("GET", "/api/tasks/export"))).isEqualTo(2);
+    }
+
+    @Test
+    public void testStatementsGetScopeTimeout() throws SQLException {
+        try (var outside = connection.createStatement()) {
+            outside.execute("select 1");
+            assertThat(outside.getQueryTimeout()).isZero();
+        }
+
+        QueryScope.open(3);
+        try (var inside = connection.prepareStatement("select 1")) {
+            inside.executeQuery().close();
+            assertThat(inside.getQueryTimeout()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void testDisconnectCancelsOpenAndLaterStatements() throws Exception {
+        var response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new BrokenOutputStream();
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, (req, res) -> {
+            try (var statement = connection.prepareStatement("select 1")) {
+                statement.executeQuery();
+                assertThatThrownBy(() -> res.getOutputStream().write(new byte[] {1}, 0, 1))
+                        .isInstanceOf(IOException.class);
+                assertThatThrownBy(() -> connection.createStatement().execute("select 2"))
+                        .isInstanceOf(SQLException.class)
+                        .extracting(ex -> ((SQLException) ex).getSQLState())
+                        .isEqualTo(QueryTimeoutInterceptor.QUERY_CANCELED);
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        assertThat(meterRegistry.get("db.statement.cancelled").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.statement.refused").counter().count()).isEqualTo(1);
+        assertThat(QueryScope.current()).isNull();
+    }
+
+    private Counter counter(String name) {
+        return meterRegistry.counter(name);
+    }
+
+    private static final class BrokenOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package hexlet.code.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Wall-clock timings depend on the machine and whatever else it runs, so this only runs on `make benchmark`.
+@Tag("benchmark")
+public class RateLimitFilterBenchmarkTest {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    @Test
+    public void testOverheadIsBelowOneMicrosecond() throws Exception {
+        var meterRegistry = new SimpleMeterRegistry();
+        var filter = new RateLimitFilter(new GcraRateLimiter(1e9, 1_000_000, 4096),
+                new GcraRateLimiter(1e9, 1_000_000, 4096), meterRegistry);
+        var request = new MockHttpServletRequest("GET", "/api/tasks");
+        var response = new MockHttpServletResponse();
+        var iterations = 200_000;
+
+        var best = Long.MAX_VALUE;
+        for (int run = 0; run < 10; run++) {
+            var start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                filter.doFilter(request, response, NOOP_CHAIN);
+            }
+            best = Math.min(best, (System.nanoTime() - start) / iterations);
+        }
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(best).isLessThan(1_000);
+    }
+}
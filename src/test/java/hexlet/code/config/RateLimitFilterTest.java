@@ -0,0 +1,109 @@
+package hexlet.code.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new GcraRateLimiter(1, 2, 64), new GcraRateLimiter(1, 1, 64), meterRegistry);
+    }
+
+    @AfterEach
+    public void clean() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testLimiterAllowsBurstThenRefills() {
+        var limiter = new GcraRateLimiter(10, 3, 16);
+        var now = 5 * SECOND;
+
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isEqualTo(SECOND / 10);
+
+        assertThat(limiter.tryAcquire("a", now + SECOND / 10)).isZero();
+        assertThat(limiter.tryAcquire("a", now + SECOND / 10)).isPositive();
+    }
+
+    @Test
+    public void testUserLimitReturns429WithRetryAfter() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user@example.com", null, AuthorityUtils.NO_AUTHORITIES));
+
+        assertThat(perform("10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("10.0.0.1").getStatus()).isEqualTo(200);
+
+        var rejected = perform("10.0.0.2");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+        assertThat(meterRegistry.get("http.server.rate_limit")
+                .tag("bucket", "user").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAnonymousRequestsAreLimitedPerAddress() throws Exception {
+        assertThat(perform("10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(perform("10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void testKeysDoNotShareBudgets() {
+        var limiter = new GcraRateLimiter(1, 1, 16);
+        var now = 5 * SECOND;
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limiter.tryAcquire("user" + i + "@example.com", now)).isZero();
+        }
+    }
+
+    @Test
+    public void testIdleKeysAreEvictedWhenFull() {
+        var limiter = new GcraRateLimiter(1, 1, 2);
+        var now = 5 * SECOND;
+
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("b", now)).isZero();
+        assertThat(limiter.tryAcquire("c", now)).isZero();
+        assertThat(limiter.getUntracked()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("a", now)).isPositive();
+
+        var later = now + SECOND;
+        assertThat(limiter.tryAcquire("c", later)).isZero();
+        assertThat(limiter.tryAcquire("c", later)).isPositive();
+        assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+        assertThat(limiter.getUntracked()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse perform(String remoteAddr) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setRemoteAddr(remoteAddr);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NOOP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package hexlet.code.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        var primary = database("routing_primary", "primary");
+        var replica = database("routing_replica", "replica");
+        var tracker = new ReadYourWritesTracker(Duration.ofMillis(200), 100);
+        var routing = new ReplicaRoutingDataSource(primary, List.of(replica), tracker);
+        routing.afterPropertiesSet();
+
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void clean() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsGoToReplica() {
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    @Test
+    public void testWritesAndNonTransactionalCallsGoToPrimary() {
+        assertThat(readWrite.execute(status -> currentNode())).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    public void testReadsStickToPrimaryAfterClientWrite() throws Exception {
+        authenticate("writer@example.com");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set writes = writes + 1"));
+
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("primary");
+
+        authenticate("reader@example.com");
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica");
+
+        authenticate("writer@example.com");
+        Thread.sleep(300);
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(name, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    private static DataSource database(String name, String node) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists node (name varchar(20), writes int)");
+        jdbc.update("delete from node");
+        jdbc.update("insert into node (name, writes) values (?, 0)", node);
+        return dataSource;
+    }
+}
@@ -0,0 +1,88 @@
+package hexlet.code.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StaticAssetConfigTest {
+
+    private static final String BUNDLE = "/assets/index-f02a4ffb.js";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testFingerprintedAssetsAreImmutable() throws Exception {
+        var result = mockMvc.perform(get(BUNDLE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andReturn();
+
+        assertThat(result.getResponse().getHeaders("Vary")).contains("Accept-Encoding");
+    }
+
+    @Test
+    public void testPrecompressedVariantIsServed() throws Exception {
+        var result = mockMvc.perform(get(BUNDLE).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        var plain = mockMvc.perform(get(BUNDLE)).andReturn();
+        assertThat(result.getResponse().getContentLength())
+                .isLessThan(plain.getResponse().getContentLength() / 2);
+    }
+
+    @Test
+    public void testIndexIsRevalidated() throws Exception {
+        mockMvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    public void testFileResourcesAreHandedToSendfile() throws Exception {
+        var file = tempDir.resolve("bundle.js");
+        Files.write(file, new byte[4096]);
+        var request = new MockHttpServletRequest();
+        request.setAttribute(SendfileResourceHttpMessageConverter.SENDFILE_SUPPORT, Boolean.TRUE);
+        var response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            var converter = new SendfileResourceHttpMessageConverter(1024);
+            converter.write(new FileSystemResource(file), MediaType.APPLICATION_OCTET_STREAM,
+                    new ServletServerHttpResponse(response));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(request.getAttribute(SendfileResourceHttpMessageConverter.SENDFILE_FILENAME))
+                .isEqualTo(file.toFile().getAbsolutePath());
+        assertThat(request.getAttribute(SendfileResourceHttpMessageConverter.SENDFILE_END)).isEqualTo(4096L);
+        assertThat(response.getContentLength()).isEqualTo(4096);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package hexlet.code.config;
+
+import hexlet.code.component.TraceSamplingProperties;
+import hexlet.code.config.TraceSampler.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.sentry.CustomSamplingContext;
+import io.sentry.SamplingContext;
+import io.sentry.TransactionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceSamplerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TraceSampler sampler;
+
+    @BeforeEach
+    public void setUp() {
+        var properties = new TraceSamplingProperties();
+        properties.setDefaultRate(0.1);
+        properties.setRates(Map.of("/api/board", 0.5, "/api/tasks", 0.0));
+        properties.setSlowThreshold(Duration.ofMillis(500));
+        properties.setSlowThresholds(Map.of("/api/tasks/export", Duration.ofSeconds(30)));
+        properties.setIgnoredPaths(List.of("/actuator", "/assets"));
+        meterRegistry = new SimpleMeterRegistry();
+        sampler = new TraceSampler(properties, new GcraRateLimiter(1, 2, 1), meterRegistry);
+    }
+
+    @Test
+    public void testErrorsAndSlowTransactionsAreAlwaysKept() {
+        assertThat(sampler.decide("/api/tasks", 0.01, true, 0.99)).isEqualTo(Decision.ERROR);
+        assertThat(sampler.decide("/api/tasks", 0.6, false, 0.99)).isEqualTo(Decision.SLOW);
+        assertThat(sampler.decide("/api/tasks/export", 5, false, 0.99)).isEqualTo(Decision.DROPPED);
+        assertThat(sampler.decide("/api/tasks/export", 31, false, 0.99)).isEqualTo(Decision.SLOW);
+    }
+
+    @Test
+    public void testFastTransactionsAreSampledPerEndpoint() {
+        assertThat(sampler.decide("/api/board", 0.01, false, 0.4)).isEqualTo(Decision.SAMPLED);
+        assertThat(sampler.decide("/api/board", 0.01, false, 0.6)).isEqualTo(Decision.DROPPED);
+        assertThat(sampler.decide("/api/tasks/{id}", 0.01, false, 0.0)).isEqualTo(Decision.DROPPED);
+        assertThat(sampler.decide("/api/labels", 0.01, false, 0.05)).isEqualTo(Decision.SAMPLED);
+    }
+
+    @Test
+    public void testSampledTransactionsAreCapped() {
+        assertThat(sampler.decide("/api/board", 0.01, false, 0.0)).isEqualTo(Decision.SAMPLED);
+        assertThat(sampler.decide("/api/board", 0.01, false, 0.0)).isEqualTo(Decision.SAMPLED);
+        assertThat(sampler.decide("/api/board", 0.01, false, 0.0)).isEqualTo(Decision.CAPPED);
+        // errors are not subject to the cap
+        assertThat(sampler.decide("/api/board", 0.01, true, 0.0)).isEqualTo(Decision.ERROR);
+
+        assertThat(meterRegistry.counter("tracing.sampler.decisions", "decision", "sampled").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("tracing.sampler.decisions", "decision", "capped").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testIgnoredPathsAreNotTraced() {
+        assertThat(sampler.sample(samplingContext("/actuator/health"))).isZero();
+        assertThat(sampler.sample(samplingContext("/api/tasks"))).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("tracing.sampler.decisions", "decision", "ignored").count()).isEqualTo(1);
+    }
+
+    private static SamplingContext samplingContext(String path) {
+        var custom = new CustomSamplingContext();
+        custom.set("request", new MockHttpServletRequest("GET", path));
+        return new SamplingContext(new TransactionContext("GET " + path, "http.server"), custom);
+    }
+}
@@ -0,0 +1,111 @@
+package hexlet.code.controller;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskService;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BoardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    private User testUser;
+    private Label testLabel;
+    private SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor token;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+        token = jwt().jwt(builder -> builder.subject(testUser.getEmail()));
+
+        testLabel = Instancio.of(modelGenerator.getLabelModel()).create();
+        labelRepository.save(testLabel);
+    }
+
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    public void testShow() throws Exception {
+        var first = saveTask("draft", 1, Set.of(testLabel));
+        var second = saveTask("draft", 2, Set.of());
+        saveTask("draft", 3, Set.of());
+        var review = saveTask("to_review", 1, Set.of());
+
+        var result = mockMvc.perform(get("/api/board").param("limit", "2").with(token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        var body = result.getResponse().getContentAsString();
+
+        assertThatJson(body).node("columns").isArray().hasSize((int) taskStatusRepository.count());
+        assertThatJson(body).inPath("$.columns[?(@.status.slug == 'draft')].total")
+                .isArray().containsExactly(3);
+        assertThatJson(body).inPath("$.columns[?(@.status.slug == 'draft')].tasks[*].id")
+                .isArray().containsExactly(first.getId(), second.getId());
+        assertThatJson(body).inPath("$.columns[?(@.status.slug == 'to_review')].tasks[*].id")
+                .isArray().containsExactly(review.getId());
+        assertThatJson(body).inPath("$.users[*].id").isArray().containsExactly(testUser.getId());
+        assertThatJson(body).inPath("$.labels[*].id").isArray().containsExactly(testLabel.getId());
+    }
+
+    @Test
+    public void testShowWithInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/board").param("limit", "0").with(token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Task saveTask(String slug, long position, Set<Label> labels) {
+        var task = Instancio.of(modelGenerator.getTaskModel()).create();
+        task.setAssignee(testUser);
+        task.setTaskStatus(taskStatusRepository.findBySlug(slug).orElseThrow());
+        task.setRank(position * TaskService.RANK_STEP);
+        task.setLabels(new HashSet<>(labels));
+        return taskRepository.save(task);
+    }
+}
@@ -0,0 +1,197 @@
+package hexlet.code.controller;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.AllocationMeter;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the bytes allocated per request by the main read endpoints against allocation-budgets.properties.
+ * Only the request thread is measured, which is where MockMvc runs the whole filter chain and handler.
+ * Run with {@code ./gradlew allocationTest}; {@code check} fails when a budget is exceeded. With
+ * {@code -PrecordAllocation} the measured values are written to {@code build/allocation-budgets.properties}
+ * instead of being checked.
+ */
+@Tag("allocation")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EndpointAllocationTest {
+
+    private static final int TASKS = 200;
+
+    private static final int LABELS = 10;
+
+    private static final int WARM_UPS = 20;
+
+    private static final int RUNS = 10;
+
+    private static final Properties BUDGETS = new Properties();
+
+    private static final Properties MEASURED = new Properties();
+
+    private static final Path RECORD_FILE = Path.of("build", "allocation-budgets.properties");
+
+    private static final boolean RECORD = Boolean.getBoolean("allocation.record");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    private User testUser;
+
+    private User idleUser;
+
+    private Task testTask;
+
+    private List<Task> tasks;
+
+    private List<Label> labels;
+
+    private SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor token;
+
+    @BeforeAll
+    public static void loadBudgets() throws IOException {
+        try (var in = EndpointAllocationTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            BUDGETS.load(in);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        testUser = userRepository.save(Instancio.of(modelGenerator.getUserModel()).create());
+        idleUser = userRepository.save(Instancio.of(modelGenerator.getUserModel()).create());
+        token = jwt().jwt(builder -> builder.subject(testUser.getEmail()));
+
+        labels = new ArrayList<>();
+        for (int i = 0; i < LABELS; i++) {
+            labels.add(Instancio.of(modelGenerator.getLabelModel()).create());
+        }
+        labelRepository.saveAll(labels);
+
+        var statuses = taskStatusRepository.findAll();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setAssignee(testUser);
+            task.setTaskStatus(statuses.get(i % statuses.size()));
+            task.setRank((long) i);
+            task.setLabels(new HashSet<>(Set.of(labels.get(i % LABELS))));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        testTask = tasks.get(0);
+    }
+
+    // only what setUp created; the statuses, labels and users seeded at startup stay
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll(tasks);
+        labelRepository.deleteAll(labels);
+        userRepository.deleteAll(List.of(testUser, idleUser));
+    }
+
+    @AfterAll
+    public static void record() throws IOException {
+        if (RECORD) {
+            Files.createDirectories(RECORD_FILE.getParent());
+            try (var out = Files.newBufferedWriter(RECORD_FILE)) {
+                MEASURED.store(out, "measured by EndpointAllocationTest");
+            }
+        }
+    }
+
+    @Test
+    public void testTaskListBytesPerTask() throws Exception {
+        var full = measure("/api/tasks?assigneeId=" + testUser.getId());
+        var empty = measure("/api/tasks?assigneeId=" + idleUser.getId());
+        assertWithinBudget("get.tasks.per-task", (full - empty) / TASKS);
+    }
+
+    @Test
+    public void testTaskShow() throws Exception {
+        assertWithinBudget("get.tasks.show", measure("/api/tasks/" + testTask.getId()));
+    }
+
+    @Test
+    public void testBoard() throws Exception {
+        assertWithinBudget("get.board", measure("/api/board"));
+    }
+
+    @Test
+    public void testLabelList() throws Exception {
+        assertWithinBudget("get.labels", measure("/api/labels"));
+    }
+
+    @Test
+    public void testTaskStatusList() throws Exception {
+        assertWithinBudget("get.task-statuses", measure("/api/task_statuses"));
+    }
+
+    @Test
+    public void testUserList() throws Exception {
+        assertWithinBudget("get.users", measure("/api/users"));
+    }
+
+    private long measure(String url) throws Exception {
+        return AllocationMeter.minOf(WARM_UPS, RUNS,
+                () -> mockMvc.perform(get(url).with(token)).andExpect(status().isOk()));
+    }
+
+    private static void assertWithinBudget(String key, long bytes) {
+        if (RECORD) {
+            MEASURED.setProperty(key, Long.toString(bytes));
+            return;
+        }
+        var measured = Long.parseLong(BUDGETS.getProperty(key));
+        var margin = Double.parseDouble(BUDGETS.getProperty("margin"));
+        var budget = (long) (measured * (1 + margin));
+        assertThat(bytes)
+                .as("bytes allocated for %s: measured %d plus %.0f%% margin", key, measured, margin * 100)
+                .isLessThanOrEqualTo(budget);
+    }
+}
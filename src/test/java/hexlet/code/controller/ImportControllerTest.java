@@ -0,0 +1,185 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.import.max-upload-size=2KB", "app.import.max-line-length=1000"})
+@AutoConfigureMockMvc
+public class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    private User testUser;
+    private Label testLabel;
+    private SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor token;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+        token = jwt().jwt(builder -> builder.subject(testUser.getEmail()));
+
+        testLabel = Instancio.of(modelGenerator.getLabelModel()).create();
+        labelRepository.save(testLabel);
+    }
+
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    public void testImportNdjson() throws Exception {
+        var body = String.join("\n",
+                "{\"title\":\"first\",\"content\":\"one\",\"status\":\"draft\",\"assignee_id\":" + testUser.getId()
+                        + ",\"taskLabelIds\":[" + testLabel.getId() + "]}",
+                "{\"title\":\"second\",\"content\":\"two\",\"status\":\"no_such_status\"}",
+                "not json",
+                "",
+                "{\"title\":\"third\",\"content\":\"three\",\"status\":\"to_review\",\"index\":7}",
+                "{\"title\":\"fourth\",\"content\":\"four\",\"status\":\"draft\",\"index\":4294967296}");
+
+        var job = awaitFinished(submit("ndjson", body));
+
+        assertThat(job.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("processedRows").asLong()).isEqualTo(5);
+        assertThat(job.get("importedRows").asLong()).isEqualTo(2);
+        assertThat(job.get("failedRows").asLong()).isEqualTo(3);
+        assertThat(job.get("errors").toString())
+                .contains("{\"row\":2,\"message\":\"unknown status: no_such_status\"}")
+                .contains("{\"row\":3,\"message\":\"malformed JSON")
+                .contains("{\"row\":6,\"message\":\"index is out of range\"}");
+
+        var first = taskRepository.findByName("first").orElseThrow();
+        assertThat(first.getAssignee().getId()).isEqualTo(testUser.getId());
+        assertThat(first.getLabels()).extracting(Label::getId).containsExactly(testLabel.getId());
+        assertThat(first.getRank()).isNotNull();
+        assertThat(taskRepository.findByName("third").orElseThrow().getIndex()).isEqualTo(7);
+    }
+
+    @Test
+    public void testImportCsv() throws Exception {
+        var body = "id,index,createdAt,assignee_id,title,content,status,taskLabelIds\r\n"
+                + "1,,2024-01-01,,\"multi, line\",\"first line\nsecond line\",draft," + testLabel.getId() + "\r\n"
+                + "2,,2024-01-01,,no content,,draft,\r\n"
+                + "3,x,2024-01-01,,bad index,text,draft,\r\n"
+                + "4,4294967296,2024-01-01,,large index,text,draft,\r\n";
+
+        var job = awaitFinished(submit("csv", body));
+
+        assertThat(job.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("importedRows").asLong()).isEqualTo(2);
+        assertThat(job.get("failedRows").asLong()).isEqualTo(2);
+        assertThat(job.get("errors").toString())
+                .contains("{\"row\":3,\"message\":\"index must be an integer\"}")
+                .contains("{\"row\":4,\"message\":\"index is out of range\"}");
+
+        var task = taskRepository.findByName("multi, line").orElseThrow();
+        assertThat(task.getDescription()).isEqualTo("first line\nsecond line");
+        assertThat(taskRepository.findByName("no content").orElseThrow().getDescription()).isNull();
+    }
+
+    @Test
+    public void testImportReportsOverlongText() throws Exception {
+        var body = String.join("\n",
+                "{\"title\":\"" + "t".repeat(256) + "\",\"content\":\"one\",\"status\":\"draft\"}",
+                "{\"title\":\"fits\",\"content\":\"" + "c".repeat(255) + "\",\"status\":\"draft\"}");
+
+        var job = awaitFinished(submit("ndjson", body));
+
+        assertThat(job.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("importedRows").asLong()).isEqualTo(1);
+        assertThat(job.get("errors").toString())
+                .contains("{\"row\":1,\"message\":\"title is longer than 255 characters\"}");
+    }
+
+    @Test
+    public void testImportRejectsOverlongLine() throws Exception {
+        var body = "{\"title\":\"" + "t".repeat(1000) + "\",\"content\":\"one\",\"status\":\"draft\"}";
+
+        var job = awaitFinished(submit("ndjson", body));
+
+        assertThat(job.get("state").asText()).isEqualTo("FAILED");
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    public void testImportRejectsOversizedUpload() throws Exception {
+        mockMvc.perform(post("/api/imports").param("format", "ndjson").content("x".repeat(4096)).with(token))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    public void testImportUnsupportedFormat() throws Exception {
+        mockMvc.perform(post("/api/imports").param("format", "xml").content("").with(token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testShowNotFound() throws Exception {
+        mockMvc.perform(get("/api/imports/{id}", "missing").with(token))
+                .andExpect(status().isNotFound());
+    }
+
+    private String submit(String format, String body) throws Exception {
+        var result = mockMvc.perform(post("/api/imports").param("format", format).content(body).with(token))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return om.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private JsonNode awaitFinished(String id) throws Exception {
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            var result = mockMvc.perform(get("/api/imports/{id}", id).with(token))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            var job = om.readTree(result.getResponse().getContentAsString());
+            var state = job.get("state").asText();
+            if ("COMPLETED".equals(state) || "FAILED".equals(state)) {
+                return job;
+            }
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
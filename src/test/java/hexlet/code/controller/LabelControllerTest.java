@@ -20,6 +20,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,6 +60,9 @@ public class LabelControllerTest {
     @Autowired
     private ModelGenerator modelGenerator;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private Label testLabel;
 
     private User testUser;
@@ -152,10 +157,13 @@ public class LabelControllerTest {
         mockMvc.perform(request)
                 .andExpect(status().isOk());
 
-        var label = labelRepository.findByName(dto.getName()).orElseThrow();
+        // tasks is lazy, so it is read inside a transaction
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var label = labelRepository.findByName(dto.getName()).orElseThrow();
 
-        assertThat(label.getName()).isEqualTo("Java");
-        assertThat(label.getTasks().size()).isEqualTo(testLabel.getTasks().size());
+            assertThat(label.getName()).isEqualTo("Java");
+            assertThat(label.getTasks().size()).isEqualTo(testLabel.getTasks().size());
+        });
     }
 
     @Test
@@ -15,10 +15,13 @@ import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.repository.ArchivedTaskRepository;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskArchiveService;
+import hexlet.code.service.TaskService;
 import hexlet.code.util.ModelGenerator;
 import hexlet.code.dto.TaskCreateDTO;
 import org.assertj.core.api.Assertions;
@@ -33,7 +36,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -56,6 +62,12 @@ public class TaskControllerTest {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
     @Autowired
     private ObjectMapper om;
 
@@ -93,6 +105,7 @@ public class TaskControllerTest {
     @AfterEach
     public void clean() {
         taskRepository.deleteAll();
+        archivedTaskRepository.deleteAll();
         userRepository.deleteAll();
         labelRepository.deleteAll();
     }
@@ -128,6 +141,144 @@ public class TaskControllerTest {
         assertThatJson(body).isArray();
     }
 
+    @Test
+    public void testExportNdjson() throws Exception {
+        taskRepository.save(testTask);
+
+        var request = get("/api/tasks/export")
+                .param("format", "ndjson")
+                .param("assigneeId", String.valueOf(testUser.getId()))
+                .with(token);
+
+        var result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+
+        var lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(1);
+        assertThatJson(lines.get(0)).and(
+                v -> v.node("id").isEqualTo(testTask.getId()),
+                v -> v.node("title").isEqualTo(testTask.getName()),
+                v -> v.node("status").isEqualTo(testTask.getTaskStatus().getSlug()),
+                v -> v.node("assignee_id").isEqualTo(testUser.getId()),
+                v -> v.node("taskLabelIds").isArray().hasSize(1)
+        );
+    }
+
+    @Test
+    public void testExportCsv() throws Exception {
+        taskRepository.save(testTask);
+
+        var request = get("/api/tasks/export")
+                .param("format", "csv")
+                .param("assigneeId", String.valueOf(testUser.getId()))
+                .with(token);
+
+        var result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        var lines = result.getResponse().getContentAsString().split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,index,createdAt,assignee_id,title,content,status,taskLabelIds");
+        assertThat(lines[1]).startsWith(testTask.getId() + ",");
+    }
+
+    @Test
+    public void testShowArchived() throws Exception {
+        taskRepository.save(testTask);
+        var archived = taskArchiveService.archiveBatch(testTask.getTaskStatus().getSlug(),
+                LocalDate.now().plusDays(1), 100);
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(taskRepository.existsById(testTask.getId())).isFalse();
+
+        var result = mockMvc.perform(get("/api/tasks/{id}", testTask.getId()).with(token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString()).and(
+                v -> v.node("title").isEqualTo(testTask.getName()),
+                v -> v.node("assignee_id").isEqualTo(testUser.getId()),
+                v -> v.node("status").isEqualTo(testTask.getTaskStatus().getSlug()),
+                v -> v.node("taskLabelIds").isArray().hasSize(1)
+        );
+    }
+
+    @Test
+    public void testArchiveUsesStatusChangeDate() throws Exception {
+        var slug = testTask.getTaskStatus().getSlug();
+        testTask.setStatusChangedAt(LocalDate.now().minusDays(30));
+        taskRepository.save(testTask);
+
+        var dto = taskMapper.map(testTask);
+        dto.setTitle("Renamed");
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId()).with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        assertThat(taskArchiveService.archiveBatch(slug, LocalDate.now().minusDays(7), 100)).isEqualTo(1);
+        assertThat(archivedTaskRepository.findById(testTask.getId()).orElseThrow().getFinishedAt())
+                .isEqualTo(LocalDate.now().minusDays(30));
+    }
+
+    @Test
+    public void testStatusChangeDelaysArchive() throws Exception {
+        testTask.setStatusChangedAt(LocalDate.now().minusDays(30));
+        taskRepository.save(testTask);
+        var status = taskStatusRepository.findBySlug("published").orElseThrow();
+
+        var dto = taskMapper.map(testTask);
+        dto.setStatus(status.getSlug());
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId()).with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        assertThat(taskArchiveService.archiveBatch(status.getSlug(), LocalDate.now().minusDays(7), 100)).isZero();
+        assertThat(taskRepository.findById(testTask.getId()).orElseThrow().getStatusChangedAt())
+                .isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    public void testIndexIncludeArchived() throws Exception {
+        taskRepository.save(testTask);
+        taskArchiveService.archiveBatch(testTask.getTaskStatus().getSlug(), LocalDate.now().plusDays(1), 100);
+
+        var labelId = testTask.getLabels().iterator().next().getId();
+
+        var live = mockMvc.perform(get("/api/tasks")
+                        .param("assigneeId", String.valueOf(testUser.getId()))
+                        .with(token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThatJson(live.getResponse().getContentAsString()).isArray().isEmpty();
+
+        var withArchived = mockMvc.perform(get("/api/tasks")
+                        .param("assigneeId", String.valueOf(testUser.getId()))
+                        .param("labelId", String.valueOf(labelId))
+                        .param("includeArchived", "true")
+                        .with(token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(withArchived.getResponse().getHeader("X-Total-Count")).isEqualTo("1");
+        assertThatJson(withArchived.getResponse().getContentAsString()).isArray().hasSize(1);
+        assertThatJson(withArchived.getResponse().getContentAsString()).and(
+                v -> v.node("[0].id").isEqualTo(testTask.getId()),
+                v -> v.node("[0].taskLabelIds[0]").isEqualTo(labelId)
+        );
+    }
+
+    @Test
+    public void testExportWithUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("format", "xml").with(token))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testCreate() throws Exception {
 
@@ -154,6 +305,33 @@ public class TaskControllerTest {
         assertThat(task.getTaskStatus().getSlug()).isEqualTo(dto.getStatus());
     }
 
+    @Test
+    public void testCreateWithIdempotencyKey() throws Exception {
+        var dto = new TaskCreateDTO();
+        dto.setTitle(testTask.getName());
+        dto.setContent(testTask.getDescription());
+        dto.setAssigneeId(testTask.getAssignee().getId());
+        dto.setStatus(testTask.getTaskStatus().getSlug());
+
+        var request = post("/api/tasks")
+                .with(token)
+                .header("Idempotency-Key", "create-" + testTask.getName())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(dto));
+
+        var first = mockMvc.perform(request)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        var second = mockMvc.perform(request)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+
+        assertThat(first.getHeader("Idempotent-Replayed")).isNull();
+        assertThat(second.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThatJson(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
     @Test
     public void testCreateWithNotValidTitle() throws Exception {
         var dto = taskMapper.map(testTask);
@@ -195,6 +373,70 @@ public class TaskControllerTest {
     }
 
 
+    @Test
+    public void testMove() throws Exception {
+        var first = saveTask(TaskService.RANK_STEP);
+        var second = saveTask(2 * TaskService.RANK_STEP);
+        var moved = saveTask(3 * TaskService.RANK_STEP);
+
+        move(moved, Map.of("status", "draft", "after", first.getId(), "before", second.getId()));
+
+        assertThat(taskRepository.findById(moved.getId()).orElseThrow().getRank())
+                .isStrictlyBetween(first.getRank(), second.getRank());
+        assertThat(listedIds()).containsExactly(first.getId(), moved.getId(), second.getId());
+    }
+
+    @Test
+    public void testMoveRespreadsExhaustedColumn() throws Exception {
+        var first = saveTask(1);
+        var second = saveTask(2);
+        var moved = saveTask(3);
+
+        move(moved, Map.of("status", "draft", "before", second.getId()));
+
+        assertThat(listedIds()).containsExactly(first.getId(), moved.getId(), second.getId());
+        var firstRank = taskRepository.findById(first.getId()).orElseThrow().getRank();
+        var secondRank = taskRepository.findById(second.getId()).orElseThrow().getRank();
+        assertThat(secondRank - firstRank).isGreaterThan(2);
+    }
+
+    @Test
+    public void testMoveInPlaceKeepsNeighbours() throws Exception {
+        var first = saveTask(TaskService.RANK_STEP);
+        var moved = saveTask(TaskService.RANK_STEP + 1);
+        var second = saveTask(3 * TaskService.RANK_STEP);
+
+        move(moved, Map.of("status", "draft", "after", first.getId()));
+
+        // measured against itself the gap would be 1 and force a respread of the whole column
+        assertThat(listedIds()).containsExactly(first.getId(), moved.getId(), second.getId());
+        assertThat(taskRepository.findById(first.getId()).orElseThrow().getRank()).isEqualTo(TaskService.RANK_STEP);
+        assertThat(taskRepository.findById(moved.getId()).orElseThrow().getRank())
+                .isEqualTo(2 * TaskService.RANK_STEP);
+    }
+
+    @Test
+    public void testMoveToOtherStatus() throws Exception {
+        var moved = saveTask(TaskService.RANK_STEP);
+
+        var result = move(moved, Map.of("status", "to_review"));
+
+        assertThatJson(result).node("status").isEqualTo("to_review");
+    }
+
+    @Test
+    public void testMoveNextToTaskOfOtherStatus() throws Exception {
+        var first = saveTask(TaskService.RANK_STEP);
+        var moved = saveTask(2 * TaskService.RANK_STEP);
+
+        var request = post("/api/tasks/{id}/move", moved.getId()).with(token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(Map.of("status", "to_review", "after", first.getId())));
+
+        mockMvc.perform(request)
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testDelete() throws Exception {
         taskRepository.save(testTask);
@@ -206,4 +448,40 @@ public class TaskControllerTest {
 
         assertThat(taskRepository.existsById(testTask.getId())).isEqualTo(false);
     }
+
+    private Task saveTask(long rank) {
+        var task = Instancio.of(modelGenerator.getTaskModel()).create();
+        task.setAssignee(testUser);
+        task.setTaskStatus(testTask.getTaskStatus());
+        task.setRank(rank);
+        task.setLabels(new HashSet<>());
+        return taskRepository.save(task);
+    }
+
+    private String move(Task task, Map<String, Object> body) throws Exception {
+        var request = post("/api/tasks/{id}/move", task.getId()).with(token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(body));
+
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private List<Long> listedIds() throws Exception {
+        var request = get("/api/tasks")
+                .param("assigneeId", String.valueOf(testUser.getId()))
+                .with(token);
+        var body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return om.readTree(body).findValues("id").stream()
+                .map(node -> node.asLong())
+                .toList();
+    }
 }
@@ -96,6 +96,44 @@ public class UsersControllerTest {
         assertThat(user.getPasswordDigest()).isNotEqualTo(newUser.getPasswordDigest());
     }
 
+    @Test
+    public void testCreateWithIdempotencyKey() throws Exception {
+        var newUser = Instancio.of(modelGenerator.getUserModel()).create();
+
+        var request = post("/api/users")
+                .header("Idempotency-Key", "signup-" + newUser.getEmail())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(newUser));
+        mockMvc.perform(request)
+                .andExpect(status().isCreated());
+        var replayed = mockMvc.perform(request)
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        assertThat(replayed.getResponse().getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(userRepository.findByEmail(newUser.getEmail())).isPresent();
+    }
+
+    @Test
+    public void testIdempotencyKeyReusedWithDifferentBody() throws Exception {
+        var newUser = Instancio.of(modelGenerator.getUserModel()).create();
+        var otherUser = Instancio.of(modelGenerator.getUserModel()).create();
+        var key = "signup-" + newUser.getEmail();
+
+        mockMvc.perform(post("/api/users")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(newUser)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/users")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(otherUser)))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(userRepository.findByEmail(otherUser.getEmail())).isEmpty();
+    }
+
     @Test
     public void testUpdate() throws Exception {
         userRepository.save(testUser);
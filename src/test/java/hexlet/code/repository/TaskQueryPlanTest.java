@@ -0,0 +1,65 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskFilterDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class TaskQueryPlanTest {
+
+    @Autowired
+    private TaskRowRepository taskRowRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testAssigneeFilterUsesIndex() {
+        var filter = new TaskFilterDTO();
+        filter.setAssigneeId(1L);
+
+        var plan = explain(filter);
+
+        assertThat(plan).doesNotContain("PUBLIC.TASKS.tableScan");
+        assertThat(plan).containsPattern(indexCondition("ASSIGNEE_ID"));
+    }
+
+    @Test
+    public void testStatusFilterUsesIndex() {
+        var filter = new TaskFilterDTO();
+        filter.setStatus("draft");
+
+        var plan = explain(filter);
+
+        assertThat(plan).doesNotContain("PUBLIC.TASKS.tableScan");
+        assertThat(plan).doesNotContain("PUBLIC.STATUSES.tableScan");
+        assertThat(plan).containsPattern(indexCondition("STATUS_ID"));
+    }
+
+    @Test
+    public void testLabelFilterUsesIndex() {
+        var filter = new TaskFilterDTO();
+        filter.setLabelId(1L);
+
+        var plan = explain(filter);
+
+        assertThat(plan).doesNotContain("PUBLIC.TASKS_LABELS.tableScan");
+        assertThat(plan).containsPattern(indexCondition("LABELS_ID"));
+    }
+
+    private String explain(TaskFilterDTO filter) {
+        var query = taskRowRepository.buildQuery(filter);
+        return jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class, query.params().toArray());
+    }
+
+    // H2 prints index lookups as "/* PUBLIC.INDEX_NAME: COLUMN = ... */"; scans keep the condition outside the comment
+    private static Pattern indexCondition(String column) {
+        return Pattern.compile("/\\*[^*]*" + column + "\"? = [^*]*\\*/");
+    }
+}
@@ -0,0 +1,144 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.AllocationMeter;
+import hexlet.code.util.ModelGenerator;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the bytes allocated by the task list and a single-column update, keeps them per build under
+ * {@code build/entity-enhancement}, and once both builds have run checks that the enhanced one allocates less.
+ * Run {@code make benchmark} and {@code make benchmark-plain}, in either order.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class EntityEnhancementBenchmarkTest {
+
+    private static final int TASKS = 200;
+
+    // tasks.description is varchar(255)
+    private static final int DESCRIPTION_LENGTH = 255;
+
+    private static final boolean ENHANCED = SelfDirtinessTracker.class.isAssignableFrom(Task.class);
+
+    private static final Path RESULTS = Path.of("build", "entity-enhancement");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User testUser;
+
+    private long taskId;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+
+        var status = taskStatusRepository.findBySlug("draft").orElseThrow();
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setDescription("d".repeat(DESCRIPTION_LENGTH));
+            task.setAssignee(testUser);
+            task.setTaskStatus(status);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        taskId = tasks.get(0).getId();
+    }
+
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll();
+        userRepository.delete(testUser);
+    }
+
+    @Test
+    public void testListAllocatesLessWhenEnhanced() throws Exception {
+        var transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        var bytes = AllocationMeter.minOf(3, 5, () -> transaction.executeWithoutResult(
+                status -> taskRepository.findAll()));
+
+        compare("list", bytes);
+    }
+
+    @Test
+    public void testUpdateAllocatesLessWhenEnhanced() throws Exception {
+        var transaction = new TransactionTemplate(transactionManager);
+        var counter = new int[1];
+
+        var bytes = AllocationMeter.minOf(3, 5, () -> transaction.executeWithoutResult(status -> {
+            var task = taskRepository.findById(taskId).orElseThrow();
+            task.setIndex(++counter[0]);
+            taskRepository.flush();
+        }));
+
+        compare("update", bytes);
+    }
+
+    private static void compare(String key, long bytes) throws IOException {
+        var measured = load(ENHANCED ? "enhanced" : "plain");
+        measured.setProperty(key, String.valueOf(bytes));
+        Files.createDirectories(RESULTS);
+        try (var out = Files.newBufferedWriter(RESULTS.resolve(ENHANCED ? "enhanced" : "plain"))) {
+            measured.store(out, "measured by EntityEnhancementBenchmarkTest");
+        }
+
+        var other = load(ENHANCED ? "plain" : "enhanced").getProperty(key);
+        assumeTrue(other != null, "no " + key + " figure from the " + (ENHANCED ? "plain" : "enhanced")
+                + " build yet");
+        var enhanced = ENHANCED ? bytes : Long.parseLong(other);
+        var plain = ENHANCED ? Long.parseLong(other) : bytes;
+        assertThat(enhanced)
+                .as("%s: enhanced %d bytes, plain %d bytes", key, enhanced, plain)
+                .isLessThan(plain);
+    }
+
+    private static Properties load(String build) throws IOException {
+        var properties = new Properties();
+        var file = RESULTS.resolve(build);
+        if (Files.exists(file)) {
+            try (var in = Files.newBufferedReader(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+}
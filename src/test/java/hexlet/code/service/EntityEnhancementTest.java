@@ -0,0 +1,126 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import hexlet.code.util.SqlRecorder;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks what bytecode enhancement buys: descriptions stay unloaded on list and flush tracks only the changed
+ * attribute. The enhancement checks are skipped when the build runs with {@code -PskipEnhancement}; the
+ * UPDATE check holds either way. EntityEnhancementBenchmarkTest compares the allocation of both builds.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=hexlet.code.util.SqlRecorder")
+public class EntityEnhancementTest {
+
+    private static final int TASKS = 200;
+
+    // tasks.description is varchar(255)
+    private static final int DESCRIPTION_LENGTH = 255;
+
+    private static final boolean ENHANCED = SelfDirtinessTracker.class.isAssignableFrom(Task.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User testUser;
+
+    private long taskId;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+
+        var status = taskStatusRepository.findBySlug("draft").orElseThrow();
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setDescription("d".repeat(DESCRIPTION_LENGTH));
+            task.setAssignee(testUser);
+            task.setTaskStatus(status);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        taskId = tasks.get(0).getId();
+    }
+
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll();
+        userRepository.delete(testUser);
+    }
+
+    @Test
+    public void testListLeavesDescriptionUnloaded() {
+        assumeTrue(ENHANCED);
+        var transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> assertThat(taskRepository.findAll())
+                .hasSize(TASKS)
+                .noneMatch(task -> Hibernate.isPropertyInitialized(task, "description")));
+    }
+
+    @Test
+    public void testUpdateTracksOnlyChangedAttributes() {
+        assumeTrue(ENHANCED);
+        var transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            var task = taskRepository.findById(taskId).orElseThrow();
+            task.setIndex(-1);
+            assertThat(((SelfDirtinessTracker) task).$$_hibernate_getDirtyAttributes())
+                    .containsExactly("index");
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void testUpdateWritesOnlyChangedColumns() {
+        var transaction = new TransactionTemplate(transactionManager);
+
+        var statements = SqlRecorder.record(() -> transaction.executeWithoutResult(status -> {
+            var task = taskRepository.findById(taskId).orElseThrow();
+            task.setIndex(-1);
+            taskRepository.flush();
+        }));
+
+        assertThat(statements)
+                .filteredOn(sql -> sql.toLowerCase().startsWith("update tasks"))
+                .singleElement()
+                .satisfies(sql -> assertThat(sql.toLowerCase())
+                        .contains("index")
+                        .doesNotContain("description", "name", "status_id", "assignee_id", "sort_rank"));
+    }
+}
@@ -0,0 +1,179 @@
+package hexlet.code.service;
+
+import hexlet.code.repository.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class JobRunnerTest {
+
+    private static final String JOB = "test-job";
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void clean() {
+        jdbcTemplate.update("delete from job_runs");
+        jdbcTemplate.update("delete from job_leases");
+    }
+
+    @Test
+    public void testLeaseHeldByAnotherNodeSkipsRun() {
+        var now = Instant.now();
+        assertThat(jobLeaseRepository.tryAcquire(JOB, "other-node", now, now.plus(Duration.ofMinutes(5)))).isTrue();
+
+        var job = new CountingJob(10, 3, Integer.MAX_VALUE);
+        assertThat(jobRunner.run(job)).isFalse();
+        assertThat(job.processed).isEmpty();
+
+        // the other node died without releasing, its lease runs out
+        assertThat(jobLeaseRepository.tryAcquire(JOB, "other-node", now, now.minusSeconds(1))).isTrue();
+        assertThat(jobRunner.run(job)).isTrue();
+        assertThat(job.processed).hasSize(10);
+    }
+
+    @Test
+    public void testPartialRunResumesFromCheckpoint() {
+        var job = new CountingJob(10, 3, 2);
+
+        assertThat(jobRunner.run(job)).isTrue();
+        assertThat(job.processed).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(jobLeaseRepository.findCheckpoint(JOB)).contains("6");
+
+        assertThat(jobRunner.run(job)).isTrue();
+        assertThat(jobRunner.run(job)).isTrue();
+        assertThat(job.processed).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(jobLeaseRepository.findCheckpoint(JOB)).isEmpty();
+
+        var runs = jobLeaseRepository.findRuns(JOB, 10);
+        assertThat(runs).extracting("status").containsExactly("COMPLETED", "PARTIAL", "PARTIAL");
+        assertThat(runs).extracting("items").containsExactly(1L, 3L, 6L);
+        assertThat(runs).allSatisfy(run -> assertThat(run.getDurationMillis()).isNotNull());
+        assertThat(runs.get(0).getOwner()).isEqualTo(jobRunner.getNodeId());
+    }
+
+    @Test
+    public void testFailedChunkKeepsLastCheckpoint() {
+        var job = new CountingJob(10, 3, Integer.MAX_VALUE);
+        job.failAt = 6;
+
+        assertThat(jobRunner.run(job)).isTrue();
+        assertThat(jobLeaseRepository.findCheckpoint(JOB)).contains("6");
+        assertThat(jobLeaseRepository.findRuns(JOB, 1).get(0).getStatus()).isEqualTo("FAILED");
+
+        job.failAt = -1;
+        assertThat(jobRunner.run(job)).isTrue();
+        assertThat(job.processed).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void testLongFailureIsRecordedAndLeaseReleased() {
+        var job = new CountingJob(10, 3, Integer.MAX_VALUE);
+        job.failAt = 0;
+        job.failure = "x".repeat(5000);
+
+        assertThat(jobRunner.run(job)).isTrue();
+        var run = jobLeaseRepository.findRuns(JOB, 1).get(0);
+        assertThat(run.getStatus()).isEqualTo("FAILED");
+        assertThat(run.getMessage()).hasSize(1000);
+        assertThat(jobLeaseRepository.findLeases()).singleElement()
+                .satisfies(lease -> assertThat(lease.getOwner()).isNull());
+    }
+
+    @Test
+    public void testTrimRunsWithoutHistoryKeepsNothing() {
+        var job = new CountingJob(3, 3, Integer.MAX_VALUE);
+        assertThat(jobRunner.run(job)).isTrue();
+
+        jobLeaseRepository.trimRuns(JOB, 0);
+
+        assertThat(jobLeaseRepository.findRuns(JOB, 10)).isEmpty();
+    }
+
+    @Test
+    public void testLostLeaseRollsBackChunk() {
+        var job = new CountingJob(10, 3, Integer.MAX_VALUE);
+        var takeover = new TransactionTemplate(transactionManager);
+        takeover.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        job.onChunk = () -> takeover.executeWithoutResult(tx ->
+                jdbcTemplate.update("update job_leases set owner = 'other-node' where name = ?", JOB));
+
+        assertThat(jobRunner.run(job)).isTrue();
+        assertThat(jobLeaseRepository.findRuns(JOB, 1).get(0).getStatus()).isEqualTo("LOST");
+        assertThat(jobLeaseRepository.findCheckpoint(JOB)).isEmpty();
+        assertThat(jobLeaseRepository.findLeases()).singleElement()
+                .satisfies(lease -> assertThat(lease.getOwner()).isEqualTo("other-node"));
+    }
+
+    private static final class CountingJob implements ClusterJob {
+
+        private final int total;
+
+        private final int chunkSize;
+
+        private final int maxChunks;
+
+        private final List<Integer> processed = new ArrayList<>();
+
+        private int failAt = -1;
+
+        private String failure;
+
+        private Runnable onChunk;
+
+        CountingJob(int total, int chunkSize, int maxChunks) {
+            this.total = total;
+            this.chunkSize = chunkSize;
+            this.maxChunks = maxChunks;
+        }
+
+        @Override
+        public String getName() {
+            return JOB;
+        }
+
+        @Override
+        public int getMaxChunksPerRun() {
+            return maxChunks;
+        }
+
+        @Override
+        public ChunkResult runChunk(String checkpoint) {
+            if (onChunk != null) {
+                onChunk.run();
+            }
+            var from = checkpoint == null ? 0 : Integer.parseInt(checkpoint);
+            if (from == failAt) {
+                throw new IllegalStateException(failure != null ? failure : "chunk at " + from + " failed");
+            }
+            var to = Math.min(from + chunkSize, total);
+            for (int i = from; i < to; i++) {
+                processed.add(i);
+            }
+            return to == total ? ChunkResult.done(to - from) : ChunkResult.next(to - from, Integer.toString(to));
+        }
+    }
+}
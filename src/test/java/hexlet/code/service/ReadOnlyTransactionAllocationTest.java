@@ -0,0 +1,97 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.AllocationMeter;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("allocation")
+@SpringBootTest
+public class ReadOnlyTransactionAllocationTest {
+
+    private static final int TASKS = 200;
+
+    // a read-write session keeps a loaded-state array and a label set snapshot for every task
+    private static final long MIN_SAVED_BYTES_PER_TASK = 64;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+
+        var status = taskStatusRepository.findBySlug("draft").orElseThrow();
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setAssignee(testUser);
+            task.setTaskStatus(status);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll();
+        userRepository.delete(testUser);
+    }
+
+    @Test
+    public void testReadOnlyListSkipsDirtyChecking() throws Exception {
+        var filter = new TaskFilterDTO();
+        filter.setAssigneeId(testUser.getId());
+
+        var readWrite = new TransactionTemplate(transactionManager);
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        AllocationMeter.Action readWriteList = () -> readWrite.executeWithoutResult(
+                status -> taskService.getAll(filter));
+        AllocationMeter.Action readOnlyList = () -> readOnly.executeWithoutResult(
+                status -> taskService.getAll(filter));
+
+        var readWriteBytes = AllocationMeter.minOf(3, 5, readWriteList);
+        var readOnlyBytes = AllocationMeter.minOf(3, 5, readOnlyList);
+
+        assertThat((readWriteBytes - readOnlyBytes) / TASKS)
+                .as("read-write %d bytes, read-only %d bytes for %d tasks", readWriteBytes, readOnlyBytes, TASKS)
+                .isGreaterThanOrEqualTo(MIN_SAVED_BYTES_PER_TASK);
+    }
+}
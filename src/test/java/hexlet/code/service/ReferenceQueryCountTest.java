@@ -0,0 +1,138 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class ReferenceQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private TaskStatusService taskStatusService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User testUser;
+
+    private Label testLabel;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+        testLabel = Instancio.of(modelGenerator.getLabelModel()).create();
+        labelRepository.save(testLabel);
+    }
+
+    @AfterEach
+    public void clean() {
+        statistics.setStatisticsEnabled(false);
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    public void testReadsDoNotGrowWithTasks() {
+        saveTasks(1);
+        var withOneTask = countReadStatements();
+
+        saveTasks(50);
+        var withManyTasks = countReadStatements();
+
+        assertThat(withManyTasks).isEqualTo(withOneTask);
+    }
+
+    @Test
+    public void testTaskCounts() {
+        saveTasks(3);
+
+        assertThat(userService.getTaskCounts())
+                .anySatisfy(count -> {
+                    assertThat(count.getId()).isEqualTo(testUser.getId());
+                    assertThat(count.getTaskCount()).isEqualTo(3);
+                });
+        assertThat(labelService.getTaskCounts())
+                .anySatisfy(count -> {
+                    assertThat(count.getId()).isEqualTo(testLabel.getId());
+                    assertThat(count.getTaskCount()).isEqualTo(3);
+                });
+        var draft = taskStatusRepository.findBySlug("draft").orElseThrow();
+        assertThat(taskStatusService.getTaskCounts())
+                .anySatisfy(count -> {
+                    assertThat(count.getId()).isEqualTo(draft.getId());
+                    assertThat(count.getTaskCount()).isEqualTo(3);
+                });
+    }
+
+    private long countReadStatements() {
+        statistics.clear();
+        userService.getAll();
+        labelService.getAll();
+        taskStatusService.getAll();
+        userService.getTaskCounts();
+        labelService.getTaskCounts();
+        taskStatusService.getTaskCounts();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void saveTasks(int count) {
+        var status = taskStatusRepository.findBySlug("draft").orElseThrow();
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < count; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setAssignee(testUser);
+            task.setTaskStatus(status);
+            task.setLabels(new HashSet<>(Set.of(testLabel)));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+}
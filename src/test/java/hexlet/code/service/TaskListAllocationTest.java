@@ -0,0 +1,92 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.AllocationMeter;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("allocation")
+@SpringBootTest
+public class TaskListAllocationTest {
+
+    private static final int TASKS = 200;
+
+    // the streamed path skips the entity graph and the DTO per row, so it should at least halve the bytes per task
+    private static final double MAX_STREAMED_RATIO = 0.5;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private ObjectMapper om;
+
+    private User testUser;
+
+    private TaskFilterDTO filter;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+
+        var status = taskStatusRepository.findBySlug("draft").orElseThrow();
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setAssignee(testUser);
+            task.setTaskStatus(status);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        filter = new TaskFilterDTO();
+        filter.setAssigneeId(testUser.getId());
+    }
+
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll();
+        userRepository.delete(testUser);
+    }
+
+    @Test
+    public void testStreamingListAllocatesLessPerTask() throws Exception {
+        var mapped = AllocationMeter.minOf(3, 5,
+                () -> om.writeValue(OutputStream.nullOutputStream(), taskService.getAll(filter)));
+        var streamed = AllocationMeter.minOf(3, 5,
+                () -> taskService.writeAll(filter, total -> { }, OutputStream.nullOutputStream()));
+
+        assertThat((double) streamed / mapped)
+                .as("streamed %d bytes/task vs entity+DTO %d bytes/task", streamed / TASKS, mapped / TASKS)
+                .isLessThan(MAX_STREAMED_RATIO);
+    }
+}
@@ -0,0 +1,122 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.dto.UserUpdateDTO;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.coalescing.enabled=true", "app.coalescing.staleness=10s",
+    "app.coalescing.max-tasks=2"})
+public class TaskListCoalescerTest {
+
+    @Autowired
+    private TaskListCoalescer taskListCoalescer;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = Instancio.of(modelGenerator.getUserModel()).create();
+        userRepository.save(testUser);
+    }
+
+    @AfterEach
+    public void clean() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testIdenticalListsShareOneResult() throws Exception {
+        var first = taskListCoalescer.list(filter()).orElseThrow();
+        var second = taskListCoalescer.list(filter()).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void testWriteIsVisibleToNextList() throws Exception {
+        var before = taskListCoalescer.list(filter()).orElseThrow();
+
+        createTask();
+
+        var after = taskListCoalescer.list(filter()).orElseThrow();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.total()).isEqualTo(before.total() + 1);
+    }
+
+    @Test
+    public void testUserWriteIsVisibleToNextList() throws Exception {
+        var before = taskListCoalescer.list(filter()).orElseThrow();
+
+        var update = new UserUpdateDTO();
+        update.setFirstName(JsonNullable.of("Renamed"));
+        userService.update(update, testUser.getId());
+
+        assertThat(taskListCoalescer.list(filter()).orElseThrow()).isNotSameAs(before);
+    }
+
+    @Test
+    public void testUnfilteredListIsCoalesced() throws Exception {
+        taskRepository.deleteAll();
+        createTask();
+
+        var first = taskListCoalescer.list(new TaskFilterDTO()).orElseThrow();
+        var second = taskListCoalescer.list(new TaskFilterDTO()).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.total()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLargeListIsNotCoalesced() throws Exception {
+        createTask();
+        createTask();
+        createTask();
+
+        assertThat(taskListCoalescer.list(filter())).isEmpty();
+    }
+
+    private void createTask() {
+        var task = new TaskCreateDTO();
+        task.setTitle("Coalesced");
+        task.setContent("Shared list");
+        task.setStatus("draft");
+        task.setAssigneeId(testUser.getId());
+        taskService.create(task);
+    }
+
+    private TaskFilterDTO filter() {
+        var filter = new TaskFilterDTO();
+        filter.setAssigneeId(testUser.getId());
+        return filter;
+    }
+}
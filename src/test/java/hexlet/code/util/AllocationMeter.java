@@ -0,0 +1,35 @@
+package hexlet.code.util;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+public final class AllocationMeter {
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public static long measure(Action action) throws Exception {
+        var before = THREADS.getCurrentThreadAllocatedBytes();
+        action.run();
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    public static long minOf(int warmUps, int runs, Action action) throws Exception {
+        for (int i = 0; i < warmUps; i++) {
+            action.run();
+        }
+        var min = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            min = Math.min(min, measure(action));
+        }
+        return min;
+    }
+}
@@ -17,6 +17,9 @@ import org.springframework.stereotype.Component;
 @Getter
 @Component
 public class ModelGenerator {
+    // state fields added to the entities by Hibernate bytecode enhancement
+    private static final String ENHANCEMENT_FIELDS = "\\$\\$_hibernate_.*";
+
     private final Faker faker;
 
     private Model<User> userModel;
@@ -33,6 +36,7 @@ public class ModelGenerator {
     private void init() {
 
         userModel = Instancio.of(User.class)
+                .ignore(Select.fields().matching(ENHANCEMENT_FIELDS))
                 .ignore(Select.field(User::getId))
                 .supply(Select.field(User::getFirstName), () -> faker.name().firstName())
                 .supply(Select.field(User::getLastName), () -> faker.name().lastName())
@@ -42,6 +46,7 @@ public class ModelGenerator {
                 .toModel();
 
         taskStatusModel = Instancio.of(TaskStatus.class)
+                .ignore(Select.fields().matching(ENHANCEMENT_FIELDS))
                 .ignore(Select.field(TaskStatus::getId))
                 .ignore(Select.field(TaskStatus::getTasks))
                 .supply(Select.field(TaskStatus::getName), () -> faker.lorem().word())
@@ -49,15 +54,19 @@ public class ModelGenerator {
                 .toModel();
 
         taskModel = Instancio.of(Task.class)
+                .ignore(Select.fields().matching(ENHANCEMENT_FIELDS))
                 .ignore(Select.field(Task::getId))
                 .ignore(Select.field(Task::getIndex))
+                .ignore(Select.field(Task::getRank))
                 .ignore(Select.field(Task::getAssignee))
                 .supply(Select.field(Task::getName), () -> faker.name().title())
                 .supply(Select.field(Task::getDescription), () -> faker.text().text())
                 .ignore(Select.field(Task::getTaskStatus))
+                .ignore(Select.field(Task::getStatusChangedAt))
                 .toModel();
 
         labelModel = Instancio.of(Label.class)
+                .ignore(Select.fields().matching(ENHANCEMENT_FIELDS))
                 .ignore(Select.field(Label::getId))
                 .supply(Select.field(Label::getName), () -> faker.lorem().characters(3, 100))
                 .ignore(Select.field(Label::getTasks))
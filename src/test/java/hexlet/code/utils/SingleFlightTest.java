@@ -0,0 +1,77 @@
+package hexlet.code.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    private static final long TEN_SECONDS = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        var flights = new SingleFlight<String, String>(0, 100);
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var callers = 8;
+        var executor = Executors.newFixedThreadPool(callers);
+        try {
+            var results = new ArrayList<Future<String>>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flights.get("tasks", 0, () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "body";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (var result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("body");
+            }
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testResultIsReusedWithinStalenessWindow() throws Exception {
+        var flights = new SingleFlight<String, Integer>(TEN_SECONDS, 100);
+        var loads = new AtomicInteger();
+
+        assertThat(flights.get("tasks", 0, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(flights.get("tasks", 0, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(flights.get("other", 0, loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    public void testNewVersionIsNotServedOldResult() throws Exception {
+        var flights = new SingleFlight<String, Integer>(TEN_SECONDS, 100);
+        var loads = new AtomicInteger();
+
+        assertThat(flights.get("tasks", 0, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(flights.get("tasks", 1, loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws Exception {
+        var flights = new SingleFlight<String, String>(TEN_SECONDS, 100);
+
+        assertThatThrownBy(() -> flights.get("tasks", 0, () -> {
+            throw new IOException("boom");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(flights.get("tasks", 0, () -> "body")).isEqualTo("body");
+    }
+}